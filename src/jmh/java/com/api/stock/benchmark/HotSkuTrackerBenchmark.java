@@ -0,0 +1,52 @@
+package com.api.stock.benchmark;
+
+import com.api.stock.core.domain.ReservationOutcome;
+import com.api.stock.infra.gateway.reservation.HotSkuTracker;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost the hot sku tracker adds to every reservation, with most of the traffic on a few skus and a
+ * long tail that keeps the Space-Saving summary churning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class HotSkuTrackerBenchmark {
+
+  private static final int SKUS = 10_000;
+
+  private HotSkuTracker tracker;
+  private String[] skus;
+
+  @Setup
+  public void setUp() {
+    this.tracker = new HotSkuTracker(10, 100, Duration.ofSeconds(60), 6);
+    this.skus = new String[SKUS];
+    for (int i = 0; i < SKUS; i++) {
+      this.skus[i] = "SKU-" + i;
+    }
+  }
+
+  @Benchmark
+  public void reserve() {
+    final var random = ThreadLocalRandom.current();
+    final var sku =
+        random.nextInt(10) < 8 ? this.skus[random.nextInt(5)] : this.skus[random.nextInt(SKUS)];
+
+    this.tracker.stockUpdated(sku, 1_000_000);
+    this.tracker.reserved(sku, ReservationOutcome.RESERVED, 2_000_000);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object report() {
+    return this.tracker.report();
+  }
+}
@@ -0,0 +1,55 @@
+package com.api.stock.benchmark;
+
+import com.api.stock.event.ReleaseStockEvent;
+import com.api.stock.event.ReserveStockEvent;
+import com.api.stock.event.StockReservedEvent;
+import com.api.stock.infra.messaging.StockEventMessageConverter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+/** Jackson against the binary stock event layout, both directions, for each event record. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageConversionBenchmark {
+
+  @Param({"reserve", "release", "reserved"})
+  private String event;
+
+  @Param({"json", "binary"})
+  private String format;
+
+  private StockEventMessageConverter converter;
+  private Object payload;
+  private Message message;
+
+  @Setup
+  public void setUp() {
+    this.converter =
+        new StockEventMessageConverter(
+            new Jackson2JsonMessageConverter(), "binary".equals(this.format));
+    this.payload =
+        switch (this.event) {
+          case "reserve" -> new ReserveStockEvent("order-123456", "BOLA-123-ABC", 2);
+          case "release" -> new ReleaseStockEvent("order-123456", "BOLA-123-ABC", 2);
+          default -> StockReservedEvent.of("order-123456", "BOLA-123-ABC", true);
+        };
+    this.message = this.converter.toMessage(this.payload, new MessageProperties());
+  }
+
+  @Benchmark
+  public Message toMessage() {
+    return this.converter.toMessage(this.payload, new MessageProperties());
+  }
+
+  @Benchmark
+  public Object fromMessage() {
+    return this.converter.fromMessage(this.message);
+  }
+}
@@ -0,0 +1,114 @@
+package com.api.stock.benchmark;
+
+import com.api.stock.StockApplication;
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.StockGateway;
+import com.api.stock.core.usecase.StockService;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * {@link StockService} reserve/release against the in-memory H2 database, with every thread on one
+ * sku ({@code same}) or each on its own ({@code distinct}). Thread count defaults to 4, sweep it
+ * with {@code -Djmh.args="-t 1"}, {@code "-t 8"}, ... The broker is not needed: listeners are
+ * stopped and outcome events pile up in the outbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 4)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ReservationContentionBenchmark {
+
+  private static final int SKUS = 64;
+
+  @Param({"same", "distinct"})
+  private String skus;
+
+  @Param({"database", "in-memory"})
+  private String engine;
+
+  private ConfigurableApplicationContext context;
+  private StockService stockService;
+  private final AtomicInteger threads = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.context =
+        new SpringApplicationBuilder(StockApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("h2")
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.amqp=OFF",
+                "--app.stock.cache.enabled=false",
+                "--app.stock.outbox.poll-interval-ms=3600000",
+                "--app.stock.reservation.engine=" + this.engine,
+                "--app.stock.reservation.in-memory.journal-dir=target/benchmark-journal/"
+                    + UUID.randomUUID());
+    this.context.getBean(RabbitListenerEndpointRegistry.class).stop();
+    this.stockService = this.context.getBean(StockService.class);
+
+    this.context
+        .getBean(StockGateway.class)
+        .saveAll(
+            IntStream.range(0, SKUS)
+                .mapToObj(i -> Stock.createStock(sku(i), Integer.MAX_VALUE / 2))
+                .toList());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    this.context.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Orders {
+
+    private String sku;
+    private String prefix;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp(final ReservationContentionBenchmark benchmark) {
+      final var thread = benchmark.threads.getAndIncrement();
+
+      this.sku = "same".equals(benchmark.skus) ? sku(0) : sku(thread % SKUS);
+      this.prefix = "order-" + thread + "-";
+    }
+
+    String next() {
+      return this.prefix + this.sequence++;
+    }
+  }
+
+  @Benchmark
+  public boolean reserve(final Orders orders) {
+    return this.stockService.reserveStock(orders.sku, 1, orders.next());
+  }
+
+  @Benchmark
+  public boolean reserveAndRelease(final Orders orders) {
+    final var orderId = orders.next();
+    final var reserved = this.stockService.reserveStock(orders.sku, 1, orderId);
+    this.stockService.releaseStock(orderId, orders.sku, 1);
+
+    return reserved;
+  }
+
+  private static String sku(final int index) {
+    return "BENCH-SKU-" + index;
+  }
+}
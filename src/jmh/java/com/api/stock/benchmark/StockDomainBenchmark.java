@@ -0,0 +1,63 @@
+package com.api.stock.benchmark;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.domain.exception.DomainException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Construction, validation and reserve/release of a single {@link Stock}, no I/O. Run with {@code
+ * -Djmh.args="-prof gc"}: {@code construct} should allocate exactly as much as {@code restore}, the
+ * stock itself, since the domain rules allocate nothing when they pass.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockDomainBenchmark {
+
+  private String productSku;
+  private Integer availableQuantity;
+  private Stock stock;
+
+  @Setup
+  public void setUp() {
+    this.productSku = "BOLA-123-ABC";
+    this.availableQuantity = 100;
+    this.stock = new Stock(1, this.productSku, Integer.MAX_VALUE / 2, 0L);
+  }
+
+  @Benchmark
+  public Stock construct() {
+    return new Stock(1, this.productSku, this.availableQuantity, 0L);
+  }
+
+  @Benchmark
+  public Stock restore() {
+    return Stock.restore(1, this.productSku, this.availableQuantity, 0L);
+  }
+
+  @Benchmark
+  public Stock create() {
+    return Stock.createStock(this.productSku, this.availableQuantity);
+  }
+
+  @Benchmark
+  public Object constructInvalid() {
+    try {
+      return new Stock(1, " ", -1, 0L);
+    } catch (DomainException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public boolean reserveAndRelease() {
+    final var reserved = this.stock.reserve(1);
+    this.stock.release(1);
+
+    return reserved;
+  }
+}
@@ -0,0 +1,45 @@
+package com.api.stock.benchmark;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockLookupDto;
+import com.api.stock.presenter.StockPresenter;
+import com.api.stock.presenter.response.StockLookupPresenterResponse;
+import com.api.stock.presenter.response.StockPresenterResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+
+/** Mapping of domain stocks to the HTTP responses, single and a 100-sku lookup. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockPresenterBenchmark {
+
+  private final StockPresenter stockPresenter = new StockPresenter();
+
+  private Stock stock;
+  private StockLookupDto lookup;
+
+  @Setup
+  public void setUp() {
+    this.stock = new Stock(1, "BOLA-123-ABC", 10, 0L);
+    this.lookup =
+        new StockLookupDto(
+            IntStream.range(0, 100).mapToObj(i -> new Stock(i, "SKU-" + i, i, 0L)).toList(),
+            List.of("SKU-MISSING"));
+  }
+
+  @Benchmark
+  public StockPresenterResponse parseToResponse() {
+    return this.stockPresenter.parseToResponse(this.stock);
+  }
+
+  @Benchmark
+  public StockLookupPresenterResponse parseToLookupResponse() {
+    return this.stockPresenter.parseToLookupResponse(this.lookup);
+  }
+}
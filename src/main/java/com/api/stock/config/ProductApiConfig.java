@@ -0,0 +1,44 @@
+package com.api.stock.config;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class ProductApiConfig {
+
+  public static final String PRODUCT_API_WEB_CLIENT = "productApiWebClient";
+
+  @Bean(name = PRODUCT_API_WEB_CLIENT)
+  public WebClient productApiWebClient(
+      final WebClient.Builder webClientBuilder,
+      @Value("${app.product-api.name}") final String name,
+      @Value("${app.product-api.base-url}") final String baseUrl,
+      @Value("${app.product-api.connect-timeout-ms:1000}") final int connectTimeout,
+      @Value("${app.product-api.read-timeout-ms:2000}") final long readTimeout,
+      @Value("${app.product-api.max-connections:50}") final int maxConnections) {
+    final var connectionProvider =
+        ConnectionProvider.builder(name)
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(Duration.ofMillis(readTimeout))
+            .maxIdleTime(Duration.ofSeconds(30))
+            .build();
+
+    final var httpClient =
+        HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+            .responseTimeout(Duration.ofMillis(readTimeout));
+
+    return webClientBuilder
+        .clone()
+        .baseUrl(baseUrl)
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .build();
+  }
+}
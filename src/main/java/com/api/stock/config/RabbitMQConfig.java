@@ -1,9 +1,12 @@
 package com.api.stock.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,12 +17,18 @@ public class RabbitMQConfig {
   public static final String RESERVE_STOCK_QUEUE = "reserve-stock";
   public static final String RELEASE_STOCK_QUEUE = "release-stock";
   public static final String STOCK_RESERVED_QUEUE = "stock-reserved";
+  public static final String STOCK_CHANGED_EXCHANGE_NAME = "stock.changed";
 
   @Bean
   public TopicExchange orderExchange() {
     return new TopicExchange(EXCHANGE_NAME);
   }
 
+  @Bean
+  public FanoutExchange stockChangedExchange() {
+    return new FanoutExchange(STOCK_CHANGED_EXCHANGE_NAME);
+  }
+
   @Bean
   public Queue reserveStockQueue() {
     return new Queue(RESERVE_STOCK_QUEUE, true);
@@ -35,6 +44,12 @@ public class RabbitMQConfig {
     return new Queue(STOCK_RESERVED_QUEUE, true);
   }
 
+  @Bean
+  @ConditionalOnProperty(name = "app.stock.cache.enabled", havingValue = "true")
+  public Queue stockChangedQueue() {
+    return new AnonymousQueue();
+  }
+
   @Bean
   public Binding reserveStockBinding(Queue reserveStockQueue, TopicExchange orderExchange) {
     return BindingBuilder.bind(reserveStockQueue).to(orderExchange).with(RESERVE_STOCK_QUEUE);
@@ -49,4 +64,10 @@ public class RabbitMQConfig {
   public Binding stockReservedBinding(Queue stockReservedQueue, TopicExchange orderExchange) {
     return BindingBuilder.bind(stockReservedQueue).to(orderExchange).with(STOCK_RESERVED_QUEUE);
   }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.stock.cache.enabled", havingValue = "true")
+  public Binding stockChangedBinding(Queue stockChangedQueue, FanoutExchange stockChangedExchange) {
+    return BindingBuilder.bind(stockChangedQueue).to(stockChangedExchange);
+  }
 }
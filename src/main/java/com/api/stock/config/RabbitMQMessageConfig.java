@@ -1,26 +1,110 @@
 package com.api.stock.config;
 
+import com.api.stock.infra.messaging.ConsumerLagRecorder;
+import com.api.stock.infra.messaging.StockEventMessageConverter;
+import java.util.Date;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
 public class RabbitMQMessageConfig {
 
+  public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchListenerContainerFactory";
+  public static final String RESERVE_STOCK_LISTENER_CONTAINER_FACTORY =
+      "reserveStockListenerContainerFactory";
+
   @Bean
-  public Jackson2JsonMessageConverter jsonMessageConverter() {
-    return new Jackson2JsonMessageConverter();
+  public StockEventMessageConverter stockEventMessageConverter(
+      @Value("${app.rabbitmq.binary-events.enabled:false}") final boolean binary) {
+    return new StockEventMessageConverter(new Jackson2JsonMessageConverter(), binary);
   }
 
   @Bean
   public RabbitTemplate rabbitTemplate(
-      ConnectionFactory connectionFactory, Jackson2JsonMessageConverter jsonMessageConverter) {
+      ConnectionFactory connectionFactory,
+      StockEventMessageConverter stockEventMessageConverter,
+      @Value("${spring.rabbitmq.template.observation-enabled:false}")
+          final boolean observationEnabled) {
     final var rabbitTemplate = new RabbitTemplate(connectionFactory);
 
-    rabbitTemplate.setMessageConverter(jsonMessageConverter);
+    rabbitTemplate.setMessageConverter(stockEventMessageConverter);
+    rabbitTemplate.setObservationEnabled(observationEnabled);
+    rabbitTemplate.setMandatory(true);
+    rabbitTemplate.setBeforePublishPostProcessors(
+        message -> {
+          final var properties = message.getMessageProperties();
+          final long now = System.currentTimeMillis();
+
+          if (properties.getTimestamp() == null) {
+            properties.setTimestamp(new Date(now));
+          }
+          if (properties.getHeader(ConsumerLagRecorder.PUBLISHED_AT_HEADER) == null) {
+            properties.setHeader(ConsumerLagRecorder.PUBLISHED_AT_HEADER, now);
+          }
+          return message;
+        });
+    rabbitTemplate.setReturnsCallback(
+        returned ->
+            log.warn(
+                "Message returned by exchange={} routingKey={}: {}",
+                returned.getExchange(),
+                returned.getRoutingKey(),
+                returned.getReplyText()));
 
     return rabbitTemplate;
   }
+
+  /** Applied by Spring Boot to the default listener container factory. */
+  @Bean
+  public ContainerCustomizer<SimpleMessageListenerContainer> consumerLagContainerCustomizer(
+      ConsumerLagRecorder consumerLagRecorder) {
+    return container -> container.addAfterReceivePostProcessors(consumerLagRecorder);
+  }
+
+  @Bean(name = RESERVE_STOCK_LISTENER_CONTAINER_FACTORY)
+  public SimpleRabbitListenerContainerFactory reserveStockListenerContainerFactory(
+      SimpleRabbitListenerContainerFactoryConfigurer configurer,
+      ConnectionFactory connectionFactory,
+      ConsumerLagRecorder consumerLagRecorder,
+      @Value("${app.rabbitmq.reserve-stock.prefetch:250}") final int prefetch) {
+    final var factory = new SimpleRabbitListenerContainerFactory();
+
+    configurer.configure(factory, connectionFactory);
+    factory.setPrefetchCount(prefetch);
+    factory.setAfterReceivePostProcessors(consumerLagRecorder);
+
+    return factory;
+  }
+
+  @Bean(name = BATCH_LISTENER_CONTAINER_FACTORY)
+  public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+      SimpleRabbitListenerContainerFactoryConfigurer configurer,
+      ConnectionFactory connectionFactory,
+      ConsumerLagRecorder consumerLagRecorder,
+      @Value("${app.rabbitmq.reserve-stock.batch.size:100}") final int batchSize,
+      @Value("${app.rabbitmq.reserve-stock.prefetch:250}") final int prefetch,
+      @Value("${app.rabbitmq.reserve-stock.batch.receive-timeout-ms:50}")
+          final long receiveTimeout) {
+    final var factory = new SimpleRabbitListenerContainerFactory();
+
+    configurer.configure(factory, connectionFactory);
+    factory.setBatchListener(true);
+    factory.setConsumerBatchEnabled(true);
+    factory.setBatchSize(batchSize);
+    factory.setPrefetchCount(Math.max(batchSize, prefetch));
+    factory.setReceiveTimeout(receiveTimeout);
+    factory.setAfterReceivePostProcessors(consumerLagRecorder);
+
+    return factory;
+  }
 }
@@ -0,0 +1,61 @@
+package com.api.stock.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.time.Duration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Reactive read stack over R2DBC. The pool is not exposed as a {@code ConnectionFactory} bean so
+ * that Boot keeps running SQL initialization and transactions against the JPA datasource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.stock.reactive.enabled", havingValue = "true")
+public class ReactiveStockConfig implements DisposableBean {
+
+  private ConnectionPool connectionPool;
+
+  @Bean
+  public DatabaseClient stockDatabaseClient(
+      @Value("${app.stock.reactive.r2dbc.url}") final String url,
+      @Value("${app.stock.reactive.r2dbc.username:}") final String username,
+      @Value("${app.stock.reactive.r2dbc.password:}") final String password,
+      @Value("${app.stock.reactive.r2dbc.pool.initial-size:4}") final int initialSize,
+      @Value("${app.stock.reactive.r2dbc.pool.max-size:20}") final int maxSize,
+      @Value("${app.stock.reactive.r2dbc.pool.max-acquire-time-ms:2000}") final long maxAcquireTime,
+      @Value("${app.stock.reactive.r2dbc.pool.max-idle-time-ms:1800000}") final long maxIdleTime) {
+    final var options = ConnectionFactoryOptions.parse(url).mutate();
+
+    if (!username.isBlank()) {
+      options.option(ConnectionFactoryOptions.USER, username);
+    }
+    if (!password.isBlank()) {
+      options.option(ConnectionFactoryOptions.PASSWORD, password);
+    }
+
+    this.connectionPool =
+        new ConnectionPool(
+            ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTime))
+                .maxIdleTime(Duration.ofMillis(maxIdleTime))
+                .build());
+
+    return DatabaseClient.create(this.connectionPool);
+  }
+
+  @Override
+  public void destroy() {
+    if (this.connectionPool != null) {
+      this.connectionPool.dispose();
+    }
+  }
+}
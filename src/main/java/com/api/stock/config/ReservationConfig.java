@@ -0,0 +1,29 @@
+package com.api.stock.config;
+
+import com.api.stock.core.usecase.RecentReservations;
+import com.api.stock.infra.gateway.reservation.HotSkuTracker;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReservationConfig {
+
+  @Bean
+  public RecentReservations recentReservations(
+      @Value("${app.stock.reservation.recent-orders-capacity:10000}") final int capacity) {
+    return new RecentReservations(capacity);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.stock.hot-skus.enabled", havingValue = "true")
+  public HotSkuTracker hotSkuTracker(
+      @Value("${app.stock.hot-skus.top-k:10}") final int topK,
+      @Value("${app.stock.hot-skus.capacity:100}") final int capacity,
+      @Value("${app.stock.hot-skus.window-ms:60000}") final long windowMs,
+      @Value("${app.stock.hot-skus.slices:6}") final int slices) {
+    return new HotSkuTracker(topK, capacity, Duration.ofMillis(windowMs), slices);
+  }
+}
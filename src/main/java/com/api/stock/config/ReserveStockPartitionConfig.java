@@ -0,0 +1,75 @@
+package com.api.stock.config;
+
+import com.api.stock.infra.messaging.ConsumerLagRecorder;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.DirectRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnExpression(ReserveStockPartitionConfig.PARTITIONED)
+public class ReserveStockPartitionConfig {
+
+  public static final String PARTITIONED = "${app.rabbitmq.reserve-stock.partitions:0} > 0";
+  public static final String PARTITION_EXCHANGE_NAME = "reserve-stock.partitioned";
+  public static final String PARTITION_LISTENER_CONTAINER_FACTORY =
+      "reserveStockPartitionListenerContainerFactory";
+
+  @Bean
+  public ReserveStockPartitions reserveStockPartitions(
+      @Value("${app.rabbitmq.reserve-stock.partitions}") final int partitions,
+      @Value("${app.rabbitmq.reserve-stock.assigned-partitions:}") final List<Integer> assigned) {
+    return new ReserveStockPartitions(partitions, assigned);
+  }
+
+  @Bean
+  public DirectExchange reserveStockPartitionExchange() {
+    return new DirectExchange(PARTITION_EXCHANGE_NAME);
+  }
+
+  /**
+   * Single active consumer keeps one consumer per partition across every instance; the others take
+   * over when it goes away.
+   */
+  @Bean
+  public Declarables reserveStockPartitionQueues(
+      final ReserveStockPartitions reserveStockPartitions,
+      final DirectExchange reserveStockPartitionExchange) {
+    final List<Declarable> declarables = new ArrayList<>();
+
+    for (final var queueName : reserveStockPartitions.queueNames()) {
+      final var queue = QueueBuilder.durable(queueName).singleActiveConsumer().build();
+
+      declarables.add(queue);
+      declarables.add(BindingBuilder.bind(queue).to(reserveStockPartitionExchange).with(queueName));
+    }
+
+    return new Declarables(declarables);
+  }
+
+  @Bean(name = PARTITION_LISTENER_CONTAINER_FACTORY)
+  public DirectRabbitListenerContainerFactory reserveStockPartitionListenerContainerFactory(
+      DirectRabbitListenerContainerFactoryConfigurer configurer,
+      ConnectionFactory connectionFactory,
+      ConsumerLagRecorder consumerLagRecorder,
+      @Value("${app.rabbitmq.reserve-stock.prefetch:250}") final int prefetch) {
+    final var factory = new DirectRabbitListenerContainerFactory();
+
+    configurer.configure(factory, connectionFactory);
+    factory.setConsumersPerQueue(1);
+    factory.setPrefetchCount(prefetch);
+    factory.setAfterReceivePostProcessors(consumerLagRecorder);
+
+    return factory;
+  }
+}
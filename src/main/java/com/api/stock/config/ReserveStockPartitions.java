@@ -0,0 +1,57 @@
+package com.api.stock.config;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.Getter;
+
+/**
+ * Splits reserve-stock into a fixed number of queues keyed by product sku, so every event of a sku
+ * lands on the same queue and is consumed in order by a single consumer.
+ */
+@Getter
+public class ReserveStockPartitions {
+
+  public static final String QUEUE_PREFIX = RabbitMQConfig.RESERVE_STOCK_QUEUE + ".partition-";
+
+  private static final String INVALID_PARTITION_MESSAGE =
+      "Assigned partition=[%d] is out of range for %d partitions.";
+
+  private final int count;
+  private final List<Integer> assigned;
+
+  public ReserveStockPartitions(final int count, final List<Integer> assigned) {
+    for (final var partition : assigned) {
+      if (partition < 0 || partition >= count) {
+        throw new IllegalArgumentException(format(INVALID_PARTITION_MESSAGE, partition, count));
+      }
+    }
+
+    this.count = count;
+    this.assigned =
+        assigned.isEmpty()
+            ? IntStream.range(0, count).boxed().toList()
+            : assigned.stream().distinct().toList();
+  }
+
+  public int partitionOf(final String productSku) {
+    return productSku == null ? 0 : Math.floorMod(productSku.hashCode(), this.count);
+  }
+
+  public String routingKey(final String productSku) {
+    return queueName(this.partitionOf(productSku));
+  }
+
+  public List<String> queueNames() {
+    return IntStream.range(0, this.count).mapToObj(ReserveStockPartitions::queueName).toList();
+  }
+
+  public String[] assignedQueueNames() {
+    return this.assigned.stream().map(ReserveStockPartitions::queueName).toArray(String[]::new);
+  }
+
+  public static String queueName(final int partition) {
+    return QUEUE_PREFIX + partition;
+  }
+}
@@ -0,0 +1,45 @@
+package com.api.stock.config;
+
+import com.api.stock.infra.gateway.RabbitMQEventPublisher;
+import com.api.stock.infra.gateway.outbox.OutboxRelay;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationView;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+
+@Configuration
+public class TracingConfig {
+
+  private static final Set<Class<?>> POLLERS =
+      Set.of(RabbitMQEventPublisher.class, OutboxRelay.class);
+
+  /**
+   * The publisher flush and the outbox relay poll every few milliseconds; observing each run, and
+   * the queries it makes outside of any request or message, would bury the traces that matter. The
+   * events they send still continue the trace they were published in.
+   */
+  @Bean
+  public ObservationPredicate pollerObservationPredicate() {
+    return (name, context) ->
+        !(context instanceof ScheduledTaskObservationContext task
+                && POLLERS.contains(task.getTargetClass()))
+            && !(name.startsWith("jdbc.") && isRoot(context.getParentObservation()));
+  }
+
+  private static boolean isRoot(final ObservationView parent) {
+    return parent == null || parent instanceof Observation observation && observation.isNoop();
+  }
+
+  /** Logs finished spans, for looking at traces without a collector. */
+  @Bean
+  @ConditionalOnProperty(name = "app.tracing.log-exporter.enabled", havingValue = "true")
+  public SpanExporter loggingSpanExporter() {
+    return LoggingSpanExporter.create();
+  }
+}
@@ -0,0 +1,16 @@
+package com.api.stock.core.domain;
+
+public enum ReservationOutcome {
+  RESERVED,
+  INSUFFICIENT_STOCK,
+  INVALID,
+  FAILED;
+
+  public static ReservationOutcome of(final boolean reserved) {
+    return reserved ? RESERVED : INSUFFICIENT_STOCK;
+  }
+
+  public boolean isReserved() {
+    return this == RESERVED;
+  }
+}
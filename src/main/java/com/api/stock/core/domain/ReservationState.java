@@ -0,0 +1,7 @@
+package com.api.stock.core.domain;
+
+public enum ReservationState {
+  RESERVED,
+  REJECTED,
+  RELEASED
+}
@@ -2,12 +2,8 @@ package com.api.stock.core.domain;
 
 import static java.lang.String.format;
 
-import com.api.stock.core.domain.exception.DomainException;
-import com.api.stock.core.domain.valueobject.ValidationDomain;
-import java.util.ArrayList;
-import java.util.List;
+import com.api.stock.core.domain.validation.DomainValidator;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class Stock {
 
@@ -15,27 +11,70 @@ public class Stock {
   private static final String BLANK_MESSAGE_ERROR = "Field=[%s] should not be empty or null";
   private static final String NEGATIVE_MESSAGE_ERROR = "Field=[%s] should not be negative";
 
+  private static final DomainValidator<Stock> VALIDATOR =
+      DomainValidator.<Stock>forDomain(DOMAIN_MESSAGE_ERROR)
+          .rule(
+              format(BLANK_MESSAGE_ERROR, "product_sku"),
+              Stock::getProductSku,
+              it -> it == null || it.isBlank())
+          .rule(
+              format(BLANK_MESSAGE_ERROR, "available_quantity"),
+              Stock::getAvailableQuantity,
+              Objects::isNull)
+          .rule(
+              format(NEGATIVE_MESSAGE_ERROR, "available_quantity"),
+              Stock::getAvailableQuantity,
+              it -> it != null && it < 0)
+          .build();
+
   private Integer id;
   private String productSku;
   private Integer availableQuantity;
+  private Long version;
 
   public Stock() {}
 
   public Stock(final Integer id, final String productSku, final Integer availableQuantity) {
+    this(id, productSku, availableQuantity, null);
+  }
 
-    validateDomain(productSku, availableQuantity);
+  public Stock(
+      final Integer id,
+      final String productSku,
+      final Integer availableQuantity,
+      final Long version) {
+    this(id, productSku, availableQuantity, version, true);
+  }
 
+  private Stock(
+      final Integer id,
+      final String productSku,
+      final Integer availableQuantity,
+      final Long version,
+      final boolean validate) {
     this.id = id;
     this.productSku = productSku;
     this.availableQuantity = availableQuantity;
+    this.version = version;
+
+    if (validate) {
+      VALIDATOR.validate(this);
+    }
   }
 
   public static Stock createStock(final String productSku, final Integer availableQuantity) {
-    validateDomain(productSku, availableQuantity);
-
     return new Stock(null, productSku, availableQuantity);
   }
 
+  /** Rebuilds a stock that was validated when it was stored, skipping the domain rules. */
+  public static Stock restore(
+      final Integer id,
+      final String productSku,
+      final Integer availableQuantity,
+      final Long version) {
+    return new Stock(id, productSku, availableQuantity, version, false);
+  }
+
   public Integer getId() {
     return id;
   }
@@ -48,6 +87,10 @@ public class Stock {
     return availableQuantity;
   }
 
+  public Long getVersion() {
+    return version;
+  }
+
   public void setAvailableQuantity(final Integer availableQuantity) {
     this.availableQuantity = availableQuantity;
   }
@@ -66,38 +109,4 @@ public class Stock {
       availableQuantity += quantity;
     }
   }
-
-  private static void validateDomain(final String productSku, final Integer availableQuantity) {
-    final List<ValidationDomain<?>> rules =
-        List.of(
-            new ValidationDomain<>(
-                productSku,
-                format(BLANK_MESSAGE_ERROR, "product_sku"),
-                List.of(Objects::isNull, String::isBlank)),
-            new ValidationDomain<>(
-                availableQuantity,
-                String.format(BLANK_MESSAGE_ERROR, "available_quantity"),
-                List.of(Objects::isNull)),
-            new ValidationDomain<>(
-                availableQuantity,
-                String.format(NEGATIVE_MESSAGE_ERROR, "available_quantity"),
-                List.of(q -> q != null && q < 0)));
-
-    final var errors = validate(rules);
-
-    if (!errors.isEmpty()) {
-      throw new DomainException(errors);
-    }
-  }
-
-  private static List<String> validate(final List<ValidationDomain<?>> validations) {
-    return validations.stream()
-        .filter(Stock::isInvalid)
-        .map(it -> format("%s %s", it.message(), DOMAIN_MESSAGE_ERROR))
-        .collect(Collectors.toCollection(ArrayList::new));
-  }
-
-  private static <T> boolean isInvalid(final ValidationDomain<T> domain) {
-    return domain.predicates().stream().anyMatch(predicate -> predicate.test(domain.field()));
-  }
 }
@@ -0,0 +1,108 @@
+package com.api.stock.core.domain;
+
+import static java.lang.String.format;
+
+import com.api.stock.core.domain.validation.DomainValidator;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class StockReservation {
+
+  private static final String DOMAIN_MESSAGE_ERROR = "by domain stock reservation";
+  private static final String BLANK_MESSAGE_ERROR = "Field=[%s] should not be empty or null";
+  private static final String POSITIVE_MESSAGE_ERROR = "Field=[%s] should be positive";
+
+  private static final DomainValidator<StockReservation> VALIDATOR =
+      DomainValidator.<StockReservation>forDomain(DOMAIN_MESSAGE_ERROR)
+          .rule(
+              format(BLANK_MESSAGE_ERROR, "order_id"),
+              StockReservation::getOrderId,
+              it -> it == null || it.isBlank())
+          .rule(
+              format(BLANK_MESSAGE_ERROR, "product_sku"),
+              StockReservation::getProductSku,
+              it -> it == null || it.isBlank())
+          .rule(
+              format(POSITIVE_MESSAGE_ERROR, "quantity"),
+              StockReservation::getQuantity,
+              it -> it == null || it <= 0)
+          .rule(format(BLANK_MESSAGE_ERROR, "state"), StockReservation::getState, Objects::isNull)
+          .build();
+
+  private Long id;
+  private String orderId;
+  private String productSku;
+  private Integer quantity;
+  private ReservationState state;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  public StockReservation(
+      final Long id,
+      final String orderId,
+      final String productSku,
+      final Integer quantity,
+      final ReservationState state,
+      final LocalDateTime createdAt,
+      final LocalDateTime updatedAt) {
+    this.id = id;
+    this.orderId = orderId;
+    this.productSku = productSku;
+    this.quantity = quantity;
+    this.state = state;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+
+    VALIDATOR.validate(this);
+  }
+
+  public static StockReservation createReservation(
+      final String orderId, final String productSku, final Integer quantity) {
+    return new StockReservation(
+        null, orderId, productSku, quantity, ReservationState.RESERVED, null, null);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getOrderId() {
+    return orderId;
+  }
+
+  public String getProductSku() {
+    return productSku;
+  }
+
+  public Integer getQuantity() {
+    return quantity;
+  }
+
+  public ReservationState getState() {
+    return state;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public boolean isReserved() {
+    return state == ReservationState.RESERVED;
+  }
+
+  public boolean wasReserved() {
+    return state != ReservationState.REJECTED;
+  }
+
+  public void reject() {
+    this.state = ReservationState.REJECTED;
+  }
+
+  public void release() {
+    this.state = ReservationState.RELEASED;
+  }
+}
@@ -0,0 +1,72 @@
+package com.api.stock.core.domain.validation;
+
+import static java.lang.String.format;
+
+import com.api.stock.core.domain.exception.DomainException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Rules of a domain object, built once per class. Messages are resolved when the rules are built
+ * and the error list is only created on the first violation, so a valid object costs no allocation.
+ */
+public final class DomainValidator<T> {
+
+  private static final String MESSAGE_FORMAT = "%s %s";
+
+  private final List<Rule<T>> rules;
+
+  private DomainValidator(final List<Rule<T>> rules) {
+    this.rules = rules;
+  }
+
+  public static <T> Builder<T> forDomain(final String domainMessage) {
+    return new Builder<>(domainMessage);
+  }
+
+  public void validate(final T subject) {
+    List<String> errors = null;
+
+    for (int i = 0; i < this.rules.size(); i++) {
+      final var rule = this.rules.get(i);
+
+      if (rule.violation().test(subject)) {
+        if (errors == null) {
+          errors = new ArrayList<>(this.rules.size());
+        }
+        errors.add(rule.message());
+      }
+    }
+
+    if (errors != null) {
+      throw new DomainException(errors);
+    }
+  }
+
+  private record Rule<T>(String message, Predicate<T> violation) {}
+
+  public static final class Builder<T> {
+
+    private final String domainMessage;
+    private final List<Rule<T>> rules = new ArrayList<>();
+
+    private Builder(final String domainMessage) {
+      this.domainMessage = domainMessage;
+    }
+
+    public <F> Builder<T> rule(
+        final String message, final Function<T, F> field, final Predicate<F> violation) {
+      this.rules.add(
+          new Rule<>(
+              format(MESSAGE_FORMAT, message, this.domainMessage),
+              subject -> violation.test(field.apply(subject))));
+      return this;
+    }
+
+    public DomainValidator<T> build() {
+      return new DomainValidator<>(List.copyOf(this.rules));
+    }
+  }
+}
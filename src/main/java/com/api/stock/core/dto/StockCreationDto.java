@@ -0,0 +1,20 @@
+package com.api.stock.core.dto;
+
+import com.api.stock.core.domain.Stock;
+
+public record StockCreationDto(
+    String productSku, Stock stock, String errorCode, String errorMessage) {
+
+  public static StockCreationDto created(final Stock stock) {
+    return new StockCreationDto(stock.getProductSku(), stock, null, null);
+  }
+
+  public static StockCreationDto failed(
+      final String productSku, final String errorCode, final String errorMessage) {
+    return new StockCreationDto(productSku, null, errorCode, errorMessage);
+  }
+
+  public boolean isCreated() {
+    return this.stock != null;
+  }
+}
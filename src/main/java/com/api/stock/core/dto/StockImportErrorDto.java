@@ -0,0 +1,3 @@
+package com.api.stock.core.dto;
+
+public record StockImportErrorDto(long line, String productSku, String errorMessage) {}
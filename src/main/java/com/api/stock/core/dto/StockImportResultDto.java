@@ -0,0 +1,5 @@
+package com.api.stock.core.dto;
+
+import java.util.List;
+
+public record StockImportResultDto(long imported, long failed, List<StockImportErrorDto> errors) {}
@@ -0,0 +1,17 @@
+package com.api.stock.core.dto;
+
+public record StockImportRowDto(long line, StockDto stock, String error) {
+
+  public static StockImportRowDto valid(final long line, final StockDto stock) {
+    return new StockImportRowDto(line, stock, null);
+  }
+
+  public static StockImportRowDto invalid(
+      final long line, final String productSku, final String error) {
+    return new StockImportRowDto(line, new StockDto(productSku, null), error);
+  }
+
+  public boolean isValid() {
+    return this.error == null;
+  }
+}
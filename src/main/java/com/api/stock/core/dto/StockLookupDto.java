@@ -0,0 +1,6 @@
+package com.api.stock.core.dto;
+
+import com.api.stock.core.domain.Stock;
+import java.util.List;
+
+public record StockLookupDto(List<Stock> stocks, List<String> missingSkus) {}
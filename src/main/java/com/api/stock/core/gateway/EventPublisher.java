@@ -1,6 +1,10 @@
 package com.api.stock.core.gateway;
 
+import java.util.List;
+
 public interface EventPublisher {
 
   void publish(final Object event);
+
+  void publishAll(final List<?> events);
 }
@@ -1,8 +1,15 @@
 package com.api.stock.core.gateway;
 
 import com.api.stock.core.gateway.response.ProductDetailsResponse;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
 
 public interface ProductApiGateway {
 
   ProductDetailsResponse getProductDetails(final String productSku);
+
+  // Skus whose lookup failed are left out of the result; unknown skus map to an empty Optional.
+  Map<String, Optional<ProductDetailsResponse>> getProductDetails(
+      final Collection<String> productSkus);
 }
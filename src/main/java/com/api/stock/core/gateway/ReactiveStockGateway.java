@@ -0,0 +1,13 @@
+package com.api.stock.core.gateway;
+
+import com.api.stock.core.domain.Stock;
+import java.util.Collection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStockGateway {
+
+  Mono<Stock> findByProductSku(final String productSku);
+
+  Flux<Stock> findByProductSkus(final Collection<String> productSkus);
+}
@@ -0,0 +1,17 @@
+package com.api.stock.core.gateway;
+
+import java.util.List;
+
+public interface ReservationGateway {
+
+  boolean reserve(final String productSku, final int quantity);
+
+  List<Boolean> reserveAll(final String productSku, final List<Integer> quantities);
+
+  boolean release(final String productSku, final int quantity);
+
+  void evict(final String productSku);
+
+  /** Takes an absolute quantity written to the database into account before the next flush. */
+  void refresh(final String productSku, final int availableQuantity);
+}
@@ -0,0 +1,16 @@
+package com.api.stock.core.gateway;
+
+import com.api.stock.core.domain.ReservationOutcome;
+
+public interface ReservationMetrics {
+
+  void started(final int reservations);
+
+  void finished(final String productSku, final ReservationOutcome outcome, final long elapsedNanos);
+
+  /** Time spent changing the sku's stock, waiting for its row or shard lock included. */
+  void stockUpdated(final String productSku, final long elapsedNanos);
+
+  /** A redelivered reservation answered from the outcome recorded the first time. */
+  void replayed(final String productSku);
+}
@@ -1,15 +1,38 @@
 package com.api.stock.core.gateway;
 
 import com.api.stock.core.domain.Stock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface StockGateway {
 
   Stock save(final Stock stock);
 
+  List<Stock> saveAll(final List<Stock> stocks);
+
   Optional<Stock> findByProductSku(final String productSku);
 
+  List<Stock> findByProductSkus(final Collection<String> productSkus);
+
+  List<Stock> findPage(final String after, final Integer quantityBelow, final int limit);
+
+  void exportAll(final LocalDateTime updatedSince, final Consumer<Stock> consumer);
+
   Stock update(final Stock stock);
 
+  List<Stock> upsertAll(final List<Stock> stocks);
+
   void deleteByProductSku(final String productSku);
+
+  boolean reserve(final String productSku, final int quantity);
+
+  List<Boolean> reserveAll(final String productSku, final List<Integer> quantities);
+
+  boolean release(final String productSku, final int quantity);
+
+  void adjustAvailableQuantities(final Map<String, Integer> deltas);
 }
@@ -0,0 +1,27 @@
+package com.api.stock.core.gateway;
+
+import com.api.stock.core.domain.StockReservation;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockReservationGateway {
+
+  StockReservation save(final StockReservation reservation);
+
+  Optional<StockReservation> findByOrderIdAndProductSku(
+      final String orderId, final String productSku);
+
+  List<StockReservation> findByProductSkuAndOrderIds(
+      final String productSku, final Collection<String> orderIds);
+
+  List<StockReservation> findByOrderId(final String orderId);
+
+  StockReservation update(final StockReservation reservation);
+
+  /**
+   * Moves a reserved reservation to released; false when another delivery got there first, in
+   * which case its quantity must not be returned to stock again.
+   */
+  boolean release(final StockReservation reservation);
+}
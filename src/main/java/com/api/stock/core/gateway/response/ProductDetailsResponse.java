@@ -1,8 +1,10 @@
 package com.api.stock.core.gateway.response;
 
 import lombok.Builder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+@Getter
 @Builder
 @RequiredArgsConstructor
 public class ProductDetailsResponse {
@@ -1,11 +1,23 @@
 package com.api.stock.core.usecase;
 
+import static java.lang.String.format;
+
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.domain.exception.DomainException;
+import com.api.stock.core.dto.StockCreationDto;
 import com.api.stock.core.dto.StockDto;
 import com.api.stock.core.gateway.ProductApiGateway;
 import com.api.stock.core.gateway.StockGateway;
+import com.api.stock.core.usecase.exception.BusinessException;
 import com.api.stock.core.usecase.exception.ProductNotFoundException;
+import com.api.stock.core.usecase.exception.ProductValidationException;
 import com.api.stock.core.usecase.exception.StockAlreadyExistsException;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -13,9 +25,16 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class CreateStock {
 
+  private static final String OPERATION_METRIC = "stock.operation";
+  private static final String DUPLICATED_ERROR_CODE = "DUPLICATED";
+  private static final String DUPLICATED_MESSAGE = "Sku=[%s] is repeated in the request.";
+
   private final StockGateway stockGateway;
   private final ProductApiGateway productApiGateway;
 
+  @Timed(
+      value = OPERATION_METRIC,
+      extraTags = {"operation", "create"})
   public Stock execute(final StockDto request) {
     final var stock = this.stockGateway.findByProductSku(request.productSku());
     if (stock.isPresent()) {
@@ -31,4 +50,85 @@ public class CreateStock {
 
     return this.stockGateway.save(buildDomain);
   }
+
+  @Timed(
+      value = OPERATION_METRIC,
+      extraTags = {"operation", "create-batch"})
+  public List<StockCreationDto> execute(final List<StockDto> requests) {
+    final Map<String, StockCreationDto> outcomes = new LinkedHashMap<>();
+    final Map<String, Stock> candidates = new LinkedHashMap<>();
+    final var seen = new HashSet<String>();
+    final var duplicated = new HashSet<String>();
+
+    for (final var request : requests) {
+      if (!seen.add(request.productSku())) {
+        duplicated.add(request.productSku());
+        continue;
+      }
+
+      try {
+        final var stock = Stock.createStock(request.productSku(), request.availableQuantity());
+        candidates.put(stock.getProductSku(), stock);
+      } catch (DomainException e) {
+        outcomes.put(
+            request.productSku(),
+            StockCreationDto.failed(request.productSku(), e.getCode(), e.getMessage()));
+      }
+    }
+
+    duplicated.forEach(
+        sku -> {
+          candidates.remove(sku);
+          outcomes.put(
+              sku,
+              StockCreationDto.failed(sku, DUPLICATED_ERROR_CODE, format(DUPLICATED_MESSAGE, sku)));
+        });
+
+    if (!candidates.isEmpty()) {
+      this.stockGateway
+          .findByProductSkus(List.copyOf(candidates.keySet()))
+          .forEach(
+              stock -> {
+                candidates.remove(stock.getProductSku());
+                fail(
+                    outcomes,
+                    stock.getProductSku(),
+                    new StockAlreadyExistsException(stock.getProductSku()));
+              });
+    }
+
+    final List<Stock> valid = new ArrayList<>(candidates.size());
+    if (!candidates.isEmpty()) {
+      final var products =
+          this.productApiGateway.getProductDetails(List.copyOf(candidates.keySet()));
+
+      candidates.forEach(
+          (sku, stock) -> {
+            final var product = products.get(sku);
+
+            if (product == null) {
+              fail(outcomes, sku, new ProductValidationException(sku));
+            } else if (product.isEmpty()) {
+              fail(outcomes, sku, new ProductNotFoundException(sku));
+            } else {
+              valid.add(stock);
+            }
+          });
+    }
+
+    if (!valid.isEmpty()) {
+      this.stockGateway
+          .saveAll(valid)
+          .forEach(it -> outcomes.put(it.getProductSku(), StockCreationDto.created(it)));
+    }
+
+    return requests.stream().map(StockDto::productSku).distinct().map(outcomes::get).toList();
+  }
+
+  private static void fail(
+      final Map<String, StockCreationDto> outcomes,
+      final String productSku,
+      final BusinessException e) {
+    outcomes.put(productSku, StockCreationDto.failed(productSku, e.getErrorCode(), e.getMessage()));
+  }
 }
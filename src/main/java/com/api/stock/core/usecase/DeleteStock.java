@@ -1,7 +1,9 @@
 package com.api.stock.core.usecase;
 
+import com.api.stock.core.gateway.ReservationGateway;
 import com.api.stock.core.gateway.StockGateway;
 import com.api.stock.core.usecase.exception.StockNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,13 +12,20 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class DeleteStock {
 
+  private static final String OPERATION_METRIC = "stock.operation";
+
   private final StockGateway stockGateway;
+  private final ReservationGateway reservationGateway;
 
+  @Timed(
+      value = OPERATION_METRIC,
+      extraTags = {"operation", "delete"})
   @Transactional
   public void execute(final String productSku) {
     this.stockGateway
         .findByProductSku(productSku)
         .orElseThrow(() -> new StockNotFoundException(productSku));
     this.stockGateway.deleteByProductSku(productSku);
+    this.reservationGateway.evict(productSku);
   }
 }
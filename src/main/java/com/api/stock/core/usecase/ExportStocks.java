@@ -0,0 +1,19 @@
+package com.api.stock.core.usecase;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.StockGateway;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ExportStocks {
+
+  private final StockGateway stockGateway;
+
+  public void execute(final LocalDateTime updatedSince, final Consumer<Stock> consumer) {
+    this.stockGateway.exportAll(updatedSince, consumer);
+  }
+}
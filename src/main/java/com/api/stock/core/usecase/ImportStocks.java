@@ -0,0 +1,117 @@
+package com.api.stock.core.usecase;
+
+import static java.lang.String.format;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.domain.exception.DomainException;
+import com.api.stock.core.dto.StockImportErrorDto;
+import com.api.stock.core.dto.StockImportResultDto;
+import com.api.stock.core.dto.StockImportRowDto;
+import com.api.stock.core.gateway.ReservationGateway;
+import com.api.stock.core.gateway.StockGateway;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ImportStocks {
+
+  private static final int CHUNK_SIZE = 500;
+  private static final int MAX_REPORTED_ERRORS = 1000;
+  private static final String WRITE_ERROR_MESSAGE = "Error writing stock for sku=[%s].";
+
+  private final StockGateway stockGateway;
+  private final ReservationGateway reservationGateway;
+
+  public StockImportResultDto execute(final Stream<StockImportRowDto> rows) {
+    final var result = new ImportResult();
+    final Map<String, PendingRow> chunk = new LinkedHashMap<>();
+
+    rows.forEach(
+        row -> {
+          if (!row.isValid()) {
+            result.fail(row.line(), row.stock().productSku(), row.error());
+            return;
+          }
+
+          try {
+            final var stock =
+                Stock.createStock(row.stock().productSku(), row.stock().availableQuantity());
+            chunk.put(stock.getProductSku(), new PendingRow(row.line(), stock));
+          } catch (DomainException e) {
+            result.fail(row.line(), row.stock().productSku(), e.getMessage());
+          }
+
+          if (chunk.size() >= CHUNK_SIZE) {
+            this.write(chunk, result);
+          }
+        });
+
+    this.write(chunk, result);
+
+    return result.toResult();
+  }
+
+  /** A failed chunk is retried row by row, so only the rows the database rejects are reported. */
+  private void write(final Map<String, PendingRow> chunk, final ImportResult result) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    final var rows = List.copyOf(chunk.values());
+    chunk.clear();
+
+    if (this.upsert(rows, result)) {
+      return;
+    }
+
+    for (final var row : rows) {
+      if (!this.upsert(List.of(row), result)) {
+        final var productSku = row.stock().getProductSku();
+        result.fail(row.line(), productSku, format(WRITE_ERROR_MESSAGE, productSku));
+      }
+    }
+  }
+
+  private boolean upsert(final List<PendingRow> rows, final ImportResult result) {
+    try {
+      this.stockGateway.upsertAll(rows.stream().map(PendingRow::stock).toList());
+    } catch (RuntimeException e) {
+      return false;
+    }
+
+    rows.forEach(
+        it ->
+            this.reservationGateway.refresh(
+                it.stock().getProductSku(), it.stock().getAvailableQuantity()));
+    result.imported += rows.size();
+
+    return true;
+  }
+
+  private record PendingRow(long line, Stock stock) {}
+
+  private static final class ImportResult {
+
+    private final List<StockImportErrorDto> errors = new ArrayList<>();
+    private long imported;
+    private long failed;
+
+    private void fail(final long line, final String productSku, final String errorMessage) {
+      this.failed++;
+
+      if (this.errors.size() < MAX_REPORTED_ERRORS) {
+        this.errors.add(new StockImportErrorDto(line, productSku, errorMessage));
+      }
+    }
+
+    private StockImportResultDto toResult() {
+      return new StockImportResultDto(this.imported, this.failed, List.copyOf(this.errors));
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.api.stock.core.usecase;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockLookupDto;
+import com.api.stock.core.gateway.ReactiveStockGateway;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.stock.reactive.enabled", havingValue = "true")
+public class ReactiveSearchStock {
+
+  private final ReactiveStockGateway stockGateway;
+
+  public Mono<Stock> execute(final String productSku) {
+    return this.stockGateway.findByProductSku(productSku);
+  }
+
+  public Mono<StockLookupDto> execute(final Collection<String> productSkus) {
+    final var requested = new LinkedHashSet<String>();
+    for (final var productSku : productSkus) {
+      if (productSku != null && !productSku.isBlank()) {
+        requested.add(productSku);
+      }
+    }
+
+    if (requested.isEmpty()) {
+      return Mono.just(new StockLookupDto(List.of(), List.of()));
+    }
+
+    return this.stockGateway
+        .findByProductSkus(requested)
+        .collectMap(Stock::getProductSku)
+        .map(
+            found ->
+                new StockLookupDto(
+                    requested.stream().map(found::get).filter(Objects::nonNull).toList(),
+                    requested.stream().filter(it -> !found.containsKey(it)).toList()));
+  }
+}
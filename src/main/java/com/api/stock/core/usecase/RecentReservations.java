@@ -0,0 +1,34 @@
+package com.api.stock.core.usecase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of the reservation outcomes this instance recorded recently, so broker redeliveries
+ * of the same order and sku are answered without touching the database.
+ */
+public class RecentReservations {
+
+  private final Map<Key, Boolean> outcomes;
+
+  public RecentReservations(final int capacity) {
+    this.outcomes =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<Key, Boolean> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  public synchronized Boolean get(final String orderId, final String productSku) {
+    return this.outcomes.get(new Key(orderId, productSku));
+  }
+
+  public synchronized void put(
+      final String orderId, final String productSku, final boolean reserved) {
+    this.outcomes.put(new Key(orderId, productSku), reserved);
+  }
+
+  private record Key(String orderId, String productSku) {}
+}
@@ -1,7 +1,9 @@
 package com.api.stock.core.usecase;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockPageDto;
 import com.api.stock.core.gateway.StockGateway;
+import io.micrometer.core.annotation.Timed;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -10,9 +12,29 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SearchStock {
 
+  private static final String OPERATION_METRIC = "stock.operation";
+
   private final StockGateway stockGateway;
 
+  @Timed(
+      value = OPERATION_METRIC,
+      extraTags = {"operation", "search"})
   public Optional<Stock> execute(final String productSku) {
     return this.stockGateway.findByProductSku(productSku);
   }
+
+  @Timed(
+      value = OPERATION_METRIC,
+      extraTags = {"operation", "search-page"})
+  public StockPageDto execute(final String after, final Integer quantityBelow, final int limit) {
+    final var stocks = this.stockGateway.findPage(after, quantityBelow, limit + 1);
+
+    if (stocks.size() <= limit) {
+      return new StockPageDto(stocks, null);
+    }
+
+    final var page = stocks.subList(0, limit);
+
+    return new StockPageDto(page, page.getLast().getProductSku());
+  }
 }
@@ -0,0 +1,42 @@
+package com.api.stock.core.usecase;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockLookupDto;
+import com.api.stock.core.gateway.StockGateway;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SearchStocks {
+
+  private final StockGateway stockGateway;
+
+  public StockLookupDto execute(final Collection<String> productSkus) {
+    final var requested = new LinkedHashSet<String>();
+    for (final var productSku : productSkus) {
+      if (productSku != null && !productSku.isBlank()) {
+        requested.add(productSku);
+      }
+    }
+
+    if (requested.isEmpty()) {
+      return new StockLookupDto(List.of(), List.of());
+    }
+
+    final Map<String, Stock> found =
+        this.stockGateway.findByProductSkus(requested).stream()
+            .collect(Collectors.toMap(Stock::getProductSku, Function.identity(), (a, b) -> a));
+
+    return new StockLookupDto(
+        requested.stream().map(found::get).filter(Objects::nonNull).toList(),
+        requested.stream().filter(it -> !found.containsKey(it)).toList());
+  }
+}
@@ -1,45 +1,304 @@
 package com.api.stock.core.usecase;
 
+import com.api.stock.core.domain.ReservationOutcome;
+import com.api.stock.core.domain.StockReservation;
 import com.api.stock.core.gateway.EventPublisher;
-import com.api.stock.core.gateway.StockGateway;
+import com.api.stock.core.gateway.ReservationGateway;
+import com.api.stock.core.gateway.ReservationMetrics;
+import com.api.stock.core.gateway.StockReservationGateway;
+import com.api.stock.core.usecase.exception.ReservationAlreadyExistsException;
+import com.api.stock.event.ReserveStockEvent;
 import com.api.stock.event.StockReservedEvent;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Component
 @RequiredArgsConstructor
 public class StockService {
 
-  private final StockGateway stockGateway;
+  private static final String OPERATION_METRIC = "stock.operation";
+
+  private final ReservationGateway reservationGateway;
+  private final StockReservationGateway stockReservationGateway;
+  private final RecentReservations recentReservations;
+  private final TransactionOperations transactionOperations;
   private final EventPublisher eventPublisher;
+  private final ReservationMetrics reservationMetrics;
 
   public boolean reserveStock(String sku, int quantity, String orderId) {
-    final var stock = stockGateway.findByProductSku(sku);
+    final long startedAt = System.nanoTime();
+    var outcome = ReservationOutcome.FAILED;
+
+    this.reservationMetrics.started(1);
+    try {
+      outcome = this.reserve(sku, quantity, orderId);
+      return outcome.isReserved();
+    } finally {
+      this.reservationMetrics.finished(sku, outcome, System.nanoTime() - startedAt);
+    }
+  }
+
+  public List<StockReservedEvent> reserveStocks(final List<ReserveStockEvent> events) {
+    final long startedAt = System.nanoTime();
+    List<StockReservedEvent> outcomes = null;
+
+    this.reservationMetrics.started(events.size());
+    try {
+      outcomes = this.reserveBatch(events);
+      return outcomes;
+    } finally {
+      final long elapsed = System.nanoTime() - startedAt;
+
+      for (int i = 0; i < events.size(); i++) {
+        final var event = events.get(i);
+        this.reservationMetrics.finished(
+            event.productSku(),
+            outcomes == null ? ReservationOutcome.FAILED : outcomeOf(event, outcomes.get(i)),
+            elapsed);
+      }
+    }
+  }
+
+  @Timed(
+      value = OPERATION_METRIC,
+      extraTags = {"operation", "release"})
+  public void releaseStock(String orderId, String sku, int quantity) {
+    if (orderId == null) {
+      if (quantity > 0) {
+        this.reservationGateway.release(sku, quantity);
+      }
+      return;
+    }
+
+    this.transactionOperations.executeWithoutResult(
+        status ->
+            this.stockReservationGateway.findByOrderId(orderId).stream()
+                .filter(it -> sku == null || it.getProductSku().equals(sku))
+                .filter(StockReservation::isReserved)
+                .forEach(
+                    it -> {
+                      if (this.stockReservationGateway.release(it)) {
+                        this.reservationGateway.release(it.getProductSku(), it.getQuantity());
+                      }
+                    }));
+  }
+
+  /**
+   * Each sku's outcomes are published in the transaction that records them, the ones answered
+   * without touching stock right after; every input event gets exactly one outcome event.
+   */
+  private List<StockReservedEvent> reserveBatch(final List<ReserveStockEvent> events) {
+    final Map<String, List<ReserveStockEvent>> eventsBySku = new LinkedHashMap<>();
+    final List<ReserveStockEvent> answered = new ArrayList<>();
+
+    for (final var event : events) {
+      if (!isReservable(event.productSku(), event.quantity(), event.orderId())) {
+        answered.add(event);
+      } else if (this.recentReservations.get(event.orderId(), event.productSku()) != null) {
+        this.reservationMetrics.replayed(event.productSku());
+        answered.add(event);
+      } else {
+        eventsBySku.computeIfAbsent(event.productSku(), sku -> new ArrayList<>()).add(event);
+      }
+    }
+
+    final Map<String, Map<String, Boolean>> outcomesBySku = new HashMap<>();
+    eventsBySku.forEach(
+        (sku, skuEvents) -> {
+          final var outcomes =
+              this.transactionOperations.execute(
+                  status -> {
+                    final var reserved = this.reserveAll(sku, distinctByOrder(skuEvents));
+
+                    this.eventPublisher.publishAll(
+                        skuEvents.stream()
+                            .map(
+                                it ->
+                                    StockReservedEvent.of(
+                                        it.orderId(), sku, reserved.get(it.orderId())))
+                            .toList());
+                    return reserved;
+                  });
+
+          outcomes.forEach(
+              (orderId, outcome) -> this.recentReservations.put(orderId, sku, outcome));
+          outcomesBySku.put(sku, outcomes);
+        });
+
+    if (!answered.isEmpty()) {
+      this.eventPublisher.publishAll(
+          answered.stream().map(it -> this.toOutcomeEvent(it, outcomesBySku)).toList());
+    }
+
+    return events.stream().map(it -> this.toOutcomeEvent(it, outcomesBySku)).toList();
+  }
+
+  /**
+   * The outcome of a new reservation is published inside its transaction, so it is recorded
+   * together with the stock change; replayed outcomes are published on their own.
+   */
+  private ReservationOutcome reserve(final String sku, final int quantity, final String orderId) {
+    if (!isReservable(sku, quantity, orderId)) {
+      this.publish(orderId, sku, false);
+      return ReservationOutcome.INVALID;
+    }
+
+    final var recent = this.recentReservations.get(orderId, sku);
+    if (recent != null) {
+      this.reservationMetrics.replayed(sku);
+      return ReservationOutcome.of(this.publish(orderId, sku, recent));
+    }
+
+    boolean reserved;
+    try {
+      reserved =
+          Boolean.TRUE.equals(
+              this.transactionOperations.execute(
+                  status -> {
+                    final var reservation =
+                        this.stockReservationGateway.save(
+                            StockReservation.createReservation(orderId, sku, quantity));
+
+                    if (this.takeStock(sku, quantity)) {
+                      return this.publish(orderId, sku, true);
+                    }
+
+                    reservation.reject();
+                    this.stockReservationGateway.update(reservation);
 
-    if (stock.isEmpty()) {
+                    return this.publish(orderId, sku, false);
+                  }));
+    } catch (ReservationAlreadyExistsException e) {
+      this.reservationMetrics.replayed(sku);
+      reserved =
+          this.publish(
+              orderId,
+              sku,
+              this.stockReservationGateway
+                  .findByOrderIdAndProductSku(orderId, sku)
+                  .map(StockReservation::wasReserved)
+                  .orElseThrow(() -> e));
+    }
+
+    this.recentReservations.put(orderId, sku, reserved);
+
+    return ReservationOutcome.of(reserved);
+  }
+
+  private Map<String, Boolean> reserveAll(final String sku, final List<ReserveStockEvent> events) {
+    final Map<String, Boolean> outcomes = new HashMap<>();
+    final var existing =
+        this.stockReservationGateway
+            .findByProductSkuAndOrderIds(
+                sku, events.stream().map(ReserveStockEvent::orderId).toList())
+            .stream()
+            .collect(Collectors.toMap(StockReservation::getOrderId, Function.identity()));
+
+    final List<StockReservation> created = new ArrayList<>();
+    for (final var event : events) {
+      final var reservation = existing.get(event.orderId());
+
+      if (reservation != null) {
+        this.reservationMetrics.replayed(sku);
+        outcomes.put(event.orderId(), reservation.wasReserved());
+      } else {
+        created.add(
+            this.stockReservationGateway.save(
+                StockReservation.createReservation(event.orderId(), sku, event.quantity())));
+      }
+    }
+
+    if (created.isEmpty()) {
+      return outcomes;
+    }
+
+    final long startedAt = System.nanoTime();
+    final var reserved =
+        this.reservationGateway.reserveAll(
+            sku, created.stream().map(StockReservation::getQuantity).toList());
+    this.reservationMetrics.stockUpdated(sku, System.nanoTime() - startedAt);
+
+    for (int i = 0; i < created.size(); i++) {
+      final var reservation = created.get(i);
+
+      if (!reserved.get(i)) {
+        reservation.reject();
+        this.stockReservationGateway.update(reservation);
+      }
+
+      outcomes.put(reservation.getOrderId(), reserved.get(i));
+    }
+
+    return outcomes;
+  }
+
+  private boolean takeStock(final String sku, final int quantity) {
+    final long startedAt = System.nanoTime();
+
+    try {
+      return this.reservationGateway.reserve(sku, quantity);
+    } finally {
+      this.reservationMetrics.stockUpdated(sku, System.nanoTime() - startedAt);
+    }
+  }
+
+  private StockReservedEvent toOutcomeEvent(
+      final ReserveStockEvent event, final Map<String, Map<String, Boolean>> outcomesBySku) {
+    return StockReservedEvent.of(
+        event.orderId(), event.productSku(), this.outcome(event, outcomesBySku));
+  }
+
+  private boolean outcome(
+      final ReserveStockEvent event, final Map<String, Map<String, Boolean>> outcomesBySku) {
+    if (!isReservable(event.productSku(), event.quantity(), event.orderId())) {
       return false;
     }
 
-    final var stockFound = stock.get();
-    boolean reserved = stockFound.reserve(quantity);
+    final var outcome =
+        outcomesBySku.getOrDefault(event.productSku(), Map.of()).get(event.orderId());
+
+    return outcome != null
+        ? outcome
+        : Boolean.TRUE.equals(this.recentReservations.get(event.orderId(), event.productSku()));
+  }
 
-    if (reserved) {
-      this.stockGateway.update(stockFound);
+  private static ReservationOutcome outcomeOf(
+      final ReserveStockEvent event, final StockReservedEvent outcome) {
+    if (!isReservable(event.productSku(), event.quantity(), event.orderId())) {
+      return ReservationOutcome.INVALID;
     }
 
-    eventPublisher.publish(new StockReservedEvent(orderId, reserved));
+    return ReservationOutcome.of(outcome.success());
+  }
+
+  private boolean publish(final String orderId, final String sku, final boolean reserved) {
+    this.eventPublisher.publish(StockReservedEvent.of(orderId, sku, reserved));
 
     return reserved;
   }
 
-  public void releaseStock(String sku, int quantity) {
-    final var stock = stockGateway.findByProductSku(sku);
+  private static List<ReserveStockEvent> distinctByOrder(final List<ReserveStockEvent> events) {
+    final Map<String, ReserveStockEvent> distinct = new LinkedHashMap<>();
+    events.forEach(it -> distinct.putIfAbsent(it.orderId(), it));
 
-    if (stock.isPresent()) {
-      final var stockFound = stock.get();
-      stockFound.release(quantity);
+    return new ArrayList<>(distinct.values());
+  }
 
-      this.stockGateway.update(stockFound);
-    }
+  private static boolean isReservable(
+      final String productSku, final int quantity, final String orderId) {
+    return productSku != null
+        && !productSku.isBlank()
+        && quantity > 0
+        && orderId != null
+        && !orderId.isBlank();
   }
 }
@@ -1,8 +1,10 @@
 package com.api.stock.core.usecase;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.ReservationGateway;
 import com.api.stock.core.gateway.StockGateway;
 import com.api.stock.core.usecase.exception.StockNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -10,8 +12,14 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class UpdateStock {
 
+  private static final String OPERATION_METRIC = "stock.operation";
+
   private final StockGateway stockGateway;
+  private final ReservationGateway reservationGateway;
 
+  @Timed(
+      value = OPERATION_METRIC,
+      extraTags = {"operation", "update"})
   public Stock execute(final String productSku, final int quantity) {
     final var existingStock =
         this.stockGateway
@@ -20,6 +28,9 @@ public class UpdateStock {
 
     existingStock.setAvailableQuantity(quantity);
 
-    return this.stockGateway.update(existingStock);
+    final var updated = this.stockGateway.update(existingStock);
+    this.reservationGateway.refresh(productSku, updated.getAvailableQuantity());
+
+    return updated;
   }
 }
@@ -0,0 +1,14 @@
+package com.api.stock.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class ProductValidationException extends BusinessException {
+
+  private static final String ERROR_CODE = "PRODUCT_UNAVAILABLE";
+  private static final String MESSAGE =
+      "Product with sku=[%s] could not be validated in Product-API.";
+
+  public ProductValidationException(final String productSku) {
+    super(format(MESSAGE, productSku), ERROR_CODE);
+  }
+}
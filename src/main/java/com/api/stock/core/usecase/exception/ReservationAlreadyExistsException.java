@@ -0,0 +1,13 @@
+package com.api.stock.core.usecase.exception;
+
+import static java.lang.String.format;
+
+public class ReservationAlreadyExistsException extends BusinessException {
+
+  private static final String ERROR_CODE = "ALREADY_EXISTS";
+  private static final String MESSAGE = "Reservation for orderId=[%s] and sku=[%s] already exists.";
+
+  public ReservationAlreadyExistsException(final String orderId, final String productSku) {
+    super(format(MESSAGE, orderId, productSku), ERROR_CODE);
+  }
+}
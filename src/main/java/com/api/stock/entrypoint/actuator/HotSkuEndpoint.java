@@ -0,0 +1,29 @@
+package com.api.stock.entrypoint.actuator;
+
+import com.api.stock.infra.gateway.reservation.HotSkuReport;
+import com.api.stock.infra.gateway.reservation.HotSkuTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "hotskus")
+@ConditionalOnProperty(name = "app.stock.hot-skus.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class HotSkuEndpoint {
+
+  private final HotSkuTracker hotSkuTracker;
+
+  @ReadOperation
+  public HotSkuReport hotSkus() {
+    return this.hotSkuTracker.report();
+  }
+
+  @ReadOperation
+  public HotSkuReport.Estimate hotSku(@Selector final String sku) {
+    return this.hotSkuTracker.estimate(sku);
+  }
+}
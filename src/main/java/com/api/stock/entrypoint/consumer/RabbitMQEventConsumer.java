@@ -1,11 +1,11 @@
 package com.api.stock.entrypoint.consumer;
 
 import com.api.stock.config.RabbitMQConfig;
-import com.api.stock.core.gateway.EventPublisher;
+import com.api.stock.config.RabbitMQMessageConfig;
 import com.api.stock.core.usecase.StockService;
 import com.api.stock.event.ReleaseStockEvent;
 import com.api.stock.event.ReserveStockEvent;
-import com.api.stock.event.StockReservedEvent;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -17,24 +17,43 @@ import org.springframework.stereotype.Component;
 public class RabbitMQEventConsumer {
 
   private final StockService stockService;
-  private final EventPublisher eventPublisher;
 
-  @RabbitListener(queues = RabbitMQConfig.RESERVE_STOCK_QUEUE)
+  @RabbitListener(
+      queues = RabbitMQConfig.RESERVE_STOCK_QUEUE,
+      containerFactory = RabbitMQMessageConfig.RESERVE_STOCK_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${app.rabbitmq.reserve-stock.concurrency:1}",
+      autoStartup =
+          "#{!${app.rabbitmq.reserve-stock.batch.enabled:false}"
+              + " && ${app.rabbitmq.reserve-stock.partitions:0} == 0}")
   public void consumeReserveStockEvent(final ReserveStockEvent event) {
     log.info(
         "Processing ReserveStockEvent for productSku: {}, orderId: {}",
         event.productSku(),
         event.orderId());
-    boolean success =
+    final boolean success =
         this.stockService.reserveStock(event.productSku(), event.quantity(), event.orderId());
 
-    log.info(
-        "Publishing StockReservedEvent for orderId: {}, success: {}", event.orderId(), success);
-    this.eventPublisher.publish(new StockReservedEvent(event.orderId(), success));
+    log.info("Reserved stock for orderId: {}, success: {}", event.orderId(), success);
+  }
+
+  @RabbitListener(
+      queues = RabbitMQConfig.RESERVE_STOCK_QUEUE,
+      containerFactory = RabbitMQMessageConfig.BATCH_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${app.rabbitmq.reserve-stock.concurrency:1}",
+      autoStartup =
+          "#{${app.rabbitmq.reserve-stock.batch.enabled:false}"
+              + " && ${app.rabbitmq.reserve-stock.partitions:0} == 0}")
+  public void consumeReserveStockEvents(final List<ReserveStockEvent> events) {
+    log.info("Processing batch of {} ReserveStockEvents", events.size());
+    final var outcomes = this.stockService.reserveStocks(events);
+
+    log.info("Reserved stock for batch of {} ReserveStockEvents", outcomes.size());
   }
 
-  @RabbitListener(queues = RabbitMQConfig.RELEASE_STOCK_QUEUE)
+  @RabbitListener(
+      queues = RabbitMQConfig.RELEASE_STOCK_QUEUE,
+      concurrency = "${app.rabbitmq.release-stock.concurrency:1}")
   public void consumeReleaseStockEvent(final ReleaseStockEvent event) {
-    this.stockService.releaseStock(event.productSku(), event.quantity());
+    this.stockService.releaseStock(event.orderId(), event.productSku(), event.quantity());
   }
 }
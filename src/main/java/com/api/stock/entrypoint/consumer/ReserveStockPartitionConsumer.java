@@ -0,0 +1,99 @@
+package com.api.stock.entrypoint.consumer;
+
+import static java.lang.String.format;
+
+import com.api.stock.config.RabbitMQConfig;
+import com.api.stock.config.RabbitMQMessageConfig;
+import com.api.stock.config.ReserveStockPartitionConfig;
+import com.api.stock.config.ReserveStockPartitions;
+import com.api.stock.event.ReserveStockEvent;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@ConditionalOnExpression(ReserveStockPartitionConfig.PARTITIONED)
+public class ReserveStockPartitionConsumer {
+
+  private static final String NOT_ROUTED_MESSAGE =
+      "Failed to route ReserveStockEvent for productSku=[%s] to %s: %s";
+
+  private final ReserveStockPartitions reserveStockPartitions;
+  private final RabbitTemplate rabbitTemplate;
+  private final RabbitMQEventConsumer eventConsumer;
+  private final long confirmTimeout;
+
+  public ReserveStockPartitionConsumer(
+      final ReserveStockPartitions reserveStockPartitions,
+      final RabbitTemplate rabbitTemplate,
+      final RabbitMQEventConsumer eventConsumer,
+      @Value("${app.rabbitmq.publisher.confirm-timeout-ms:5000}") final long confirmTimeout) {
+    this.reserveStockPartitions = reserveStockPartitions;
+    this.rabbitTemplate = rabbitTemplate;
+    this.eventConsumer = eventConsumer;
+    this.confirmTimeout = confirmTimeout;
+  }
+
+  /**
+   * Forwards the original message untouched; a single router keeps same-sku arrival order. The
+   * original is only acknowledged once the broker confirms the copy, otherwise it is redelivered.
+   */
+  @RabbitListener(
+      queues = RabbitMQConfig.RESERVE_STOCK_QUEUE,
+      containerFactory = RabbitMQMessageConfig.RESERVE_STOCK_LISTENER_CONTAINER_FACTORY,
+      concurrency = "1")
+  public void routeReserveStockEvent(final ReserveStockEvent event, final Message message) {
+    final var routingKey = this.reserveStockPartitions.routingKey(event.productSku());
+    final var correlation = new CorrelationData();
+
+    log.debug("Routing ReserveStockEvent for productSku: {} to {}", event.productSku(), routingKey);
+    message.getMessageProperties().setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+    this.rabbitTemplate.send(
+        ReserveStockPartitionConfig.PARTITION_EXCHANGE_NAME, routingKey, message, correlation);
+    this.awaitConfirm(event, routingKey, correlation);
+  }
+
+  @RabbitListener(
+      queues = "#{reserveStockPartitions.assignedQueueNames()}",
+      containerFactory = ReserveStockPartitionConfig.PARTITION_LISTENER_CONTAINER_FACTORY)
+  public void consumeReserveStockEvent(final ReserveStockEvent event) {
+    this.eventConsumer.consumeReserveStockEvent(event);
+  }
+
+  private void awaitConfirm(
+      final ReserveStockEvent event, final String routingKey, final CorrelationData correlation) {
+    final CorrelationData.Confirm confirm;
+    try {
+      confirm = correlation.getFuture().get(this.confirmTimeout, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AmqpException(format(NOT_ROUTED_MESSAGE, event.productSku(), routingKey, e), e);
+    } catch (Exception e) {
+      throw new AmqpException(format(NOT_ROUTED_MESSAGE, event.productSku(), routingKey, e), e);
+    }
+
+    if (correlation.getReturned() != null) {
+      throw new AmqpException(
+          format(
+              NOT_ROUTED_MESSAGE,
+              event.productSku(),
+              routingKey,
+              "returned: " + correlation.getReturned().getReplyText()));
+    }
+
+    if (!confirm.isAck()) {
+      throw new AmqpException(
+          format(
+              NOT_ROUTED_MESSAGE, event.productSku(), routingKey, "nack: " + confirm.getReason()));
+    }
+  }
+}
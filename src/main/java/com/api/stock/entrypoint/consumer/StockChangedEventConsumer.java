@@ -0,0 +1,29 @@
+package com.api.stock.entrypoint.consumer;
+
+import com.api.stock.event.StockChangedEvent;
+import com.api.stock.infra.gateway.cache.CachingStockGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.stock.cache.enabled", havingValue = "true")
+public class StockChangedEventConsumer {
+
+  private final CachingStockGateway cachingStockGateway;
+
+  @RabbitListener(
+      queues = "#{stockChangedQueue.name}",
+      concurrency = "${app.rabbitmq.stock-changed.concurrency:1}")
+  public void consumeStockChangedEvent(final StockChangedEvent event) {
+    log.debug(
+        "Refreshing cached stock for productSku: {}, version: {}",
+        event.productSku(),
+        event.version());
+    this.cachingStockGateway.refresh(event);
+  }
+}
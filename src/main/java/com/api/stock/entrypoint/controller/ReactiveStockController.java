@@ -0,0 +1,63 @@
+package com.api.stock.entrypoint.controller;
+
+import static java.lang.String.format;
+
+import com.api.stock.core.usecase.ReactiveSearchStock;
+import com.api.stock.presenter.ErrorPresenter;
+import com.api.stock.presenter.StockPresenter;
+import com.api.stock.presenter.response.StockLookupPresenterResponse;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking availability reads. The handlers return without holding a request thread while the
+ * R2DBC query is in flight.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/reactive/stocks")
+@ConditionalOnProperty(name = "app.stock.reactive.enabled", havingValue = "true")
+public class ReactiveStockController {
+
+  private static final String STOCK_NOT_FOUND_MESSAGE = "Stock not found for product sku=[%s].";
+
+  private final ReactiveSearchStock searchStock;
+  private final StockPresenter presenter;
+  private final ErrorPresenter errorPresenter;
+
+  @GetMapping("/{productSku}")
+  public Mono<ResponseEntity<Object>> search(
+      @Validated @PathVariable("productSku") final String productSku) {
+    return this.searchStock
+        .execute(productSku)
+        .<ResponseEntity<Object>>map(stock -> ResponseEntity.ok(presenter.parseToResponse(stock)))
+        .defaultIfEmpty(
+            ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(
+                    errorPresenter.toPresenterErrorResponse(
+                        format(STOCK_NOT_FOUND_MESSAGE, productSku))));
+  }
+
+  @PostMapping("/lookup")
+  public Mono<ResponseEntity<StockLookupPresenterResponse>> lookup(
+      @RequestBody @Size(max = 1000) final List<String> productSkus) {
+    return this.searchStock
+        .execute(productSkus)
+        .map(response -> ResponseEntity.ok(this.presenter.parseToLookupResponse(response)));
+  }
+
+  @GetMapping("/lookup")
+  public Mono<ResponseEntity<StockLookupPresenterResponse>> lookupBySkus(
+      @RequestParam(value = "sku") @Size(max = 1000) final List<String> productSkus) {
+    return this.searchStock
+        .execute(productSkus)
+        .map(response -> ResponseEntity.ok(this.presenter.parseToLookupResponse(response)));
+  }
+}
@@ -6,17 +6,42 @@ import com.api.stock.core.domain.Stock;
 import com.api.stock.core.dto.StockDto;
 import com.api.stock.core.usecase.CreateStock;
 import com.api.stock.core.usecase.DeleteStock;
+import com.api.stock.core.usecase.ExportStocks;
+import com.api.stock.core.usecase.ImportStocks;
 import com.api.stock.core.usecase.SearchStock;
+import com.api.stock.core.usecase.SearchStocks;
 import com.api.stock.core.usecase.UpdateStock;
+import com.api.stock.entrypoint.parser.StockImportParser;
 import com.api.stock.presenter.ErrorPresenter;
+import com.api.stock.presenter.StockExportFormat;
+import com.api.stock.presenter.StockExportPresenter;
 import com.api.stock.presenter.StockPresenter;
+import com.api.stock.presenter.response.StockCreationPresenterResponse;
+import com.api.stock.presenter.response.StockImportPresenterResponse;
+import com.api.stock.presenter.response.StockLookupPresenterResponse;
+import com.api.stock.presenter.response.StockPagePresenterResponse;
 import com.api.stock.presenter.response.StockPresenterResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,11 +49,18 @@ import org.springframework.web.bind.annotation.*;
 public class StockController {
 
   private static final String STOCK_NOT_FOUND_MESSAGE = "Stock not found for product sku=[%s].";
+  private static final String EXPORT_FORMAT_MESSAGE = "Export format=[%s] is not supported.";
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
 
   private final CreateStock createStock;
   private final SearchStock searchStock;
+  private final SearchStocks searchStocks;
   private final UpdateStock updateStock;
   private final DeleteStock deleteStock;
+  private final ImportStocks importStocks;
+  private final StockImportParser stockImportParser;
+  private final ExportStocks exportStocks;
+  private final StockExportPresenter exportPresenter;
   private final StockPresenter presenter;
   private final ErrorPresenter errorPresenter;
 
@@ -39,6 +71,55 @@ public class StockController {
     return new ResponseEntity<>(this.presenter.parseToResponse(stock), HttpStatus.CREATED);
   }
 
+  @PostMapping("/batch")
+  public ResponseEntity<List<StockCreationPresenterResponse>> createAll(
+      @RequestBody @Size(max = 1000) final List<StockDto> requests) {
+    final var stocks = this.createStock.execute(requests);
+
+    return ResponseEntity.ok(stocks.stream().map(this.presenter::parseToCreationResponse).toList());
+  }
+
+  @PostMapping(
+      value = "/import",
+      consumes = {StockImportParser.APPLICATION_NDJSON_VALUE, StockImportParser.TEXT_CSV_VALUE})
+  public ResponseEntity<StockImportPresenterResponse> importStocks(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) final MediaType contentType, final InputStream body)
+      throws IOException {
+    try (final var rows = this.stockImportParser.parse(body, contentType)) {
+      final var result = this.importStocks.execute(rows);
+
+      return ResponseEntity.ok(this.presenter.parseToImportResponse(result));
+    }
+  }
+
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(value = "format", defaultValue = "ndjson") final String format,
+      @RequestParam(value = "updatedSince", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime updatedSince) {
+    final var exportFormat =
+        StockExportFormat.from(format)
+            .orElseThrow(
+                () ->
+                    new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, format(EXPORT_FORMAT_MESSAGE, format)));
+
+    final StreamingResponseBody body =
+        outputStream -> {
+          final var writer =
+              new BufferedWriter(
+                  new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+
+          this.exportPresenter.writeHeader(writer, exportFormat);
+          this.exportStocks.execute(
+              updatedSince, stock -> this.exportPresenter.write(writer, exportFormat, stock));
+          writer.flush();
+        };
+
+    return ResponseEntity.ok().contentType(exportFormat.getMediaType()).body(body);
+  }
+
   @GetMapping("/{productSku}")
   @ResponseStatus(HttpStatus.OK)
   public ResponseEntity<Object> search(
@@ -55,6 +136,32 @@ public class StockController {
                             format(STOCK_NOT_FOUND_MESSAGE, productSku))));
   }
 
+  @GetMapping
+  public ResponseEntity<StockPagePresenterResponse> list(
+      @RequestParam(value = "after", required = false) final String after,
+      @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(1000) final int limit,
+      @RequestParam(value = "quantityBelow", required = false) final Integer quantityBelow) {
+    final var response = this.searchStock.execute(after, quantityBelow, limit);
+
+    return ResponseEntity.ok(this.presenter.parseToPageResponse(response));
+  }
+
+  @PostMapping("/lookup")
+  public ResponseEntity<StockLookupPresenterResponse> lookup(
+      @RequestBody @Size(max = 1000) final List<String> productSkus) {
+    final var response = this.searchStocks.execute(productSkus);
+
+    return ResponseEntity.ok(this.presenter.parseToLookupResponse(response));
+  }
+
+  @GetMapping("/lookup")
+  public ResponseEntity<StockLookupPresenterResponse> lookupBySkus(
+      @RequestParam(value = "sku") @Size(max = 1000) final List<String> productSkus) {
+    final var response = this.searchStocks.execute(productSkus);
+
+    return ResponseEntity.ok(this.presenter.parseToLookupResponse(response));
+  }
+
   @PutMapping("/{productSku}")
   public ResponseEntity<StockPresenterResponse> update(
       @Validated @PathVariable("productSku") final String productSku,
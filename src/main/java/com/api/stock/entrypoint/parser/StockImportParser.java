@@ -0,0 +1,136 @@
+package com.api.stock.entrypoint.parser;
+
+import static java.lang.String.format;
+
+import com.api.stock.core.dto.StockDto;
+import com.api.stock.core.dto.StockImportRowDto;
+import com.api.stock.presenter.StockExportPresenter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class StockImportParser {
+
+  public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  private static final String CSV_HEADER = "productSku";
+  private static final String CSV_COLUMNS_MESSAGE = "Expected 2 columns but found %d.";
+  private static final String CSV_QUOTE_MESSAGE = "Malformed quoted csv field.";
+  private static final String QUANTITY_MESSAGE = "Invalid available quantity=[%s].";
+  private static final String JSON_MESSAGE = "Malformed json line.";
+
+  private final ObjectMapper objectMapper;
+
+  public Stream<StockImportRowDto> parse(final InputStream body, final MediaType contentType) {
+    final var reader =
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+    final var lineNumber = new AtomicLong();
+    final var csv = MediaType.parseMediaType(TEXT_CSV_VALUE).includes(contentType);
+
+    return reader
+        .lines()
+        .map(
+            line -> {
+              final var number = lineNumber.incrementAndGet();
+
+              if (line.isBlank() || (csv && number == 1 && isCsvHeader(line))) {
+                return null;
+              }
+
+              return csv ? this.parseCsv(number, line) : this.parseJson(number, line);
+            })
+        .filter(Objects::nonNull);
+  }
+
+  private StockImportRowDto parseCsv(final long line, final String value) {
+    final var columns = csvColumns(value);
+    if (columns == null) {
+      return StockImportRowDto.invalid(line, null, CSV_QUOTE_MESSAGE);
+    }
+    if (columns.size() != 2) {
+      return StockImportRowDto.invalid(line, null, format(CSV_COLUMNS_MESSAGE, columns.size()));
+    }
+
+    final var productSku = columns.get(0);
+    final var quantity = columns.get(1);
+    try {
+      return StockImportRowDto.valid(line, new StockDto(productSku, Integer.parseInt(quantity)));
+    } catch (NumberFormatException e) {
+      return StockImportRowDto.invalid(line, productSku, format(QUANTITY_MESSAGE, quantity));
+    }
+  }
+
+  private StockImportRowDto parseJson(final long line, final String value) {
+    try {
+      return StockImportRowDto.valid(line, this.objectMapper.readValue(value, StockDto.class));
+    } catch (JsonProcessingException e) {
+      return StockImportRowDto.invalid(line, null, JSON_MESSAGE);
+    }
+  }
+
+  /**
+   * Splits RFC 4180 fields the way {@link StockExportPresenter} writes them: a quoted field may
+   * hold commas and doubled quotes and is kept verbatim, an unquoted one is trimmed. Returns null
+   * when a quote is left open or followed by anything but a delimiter.
+   */
+  private static List<String> csvColumns(final String line) {
+    final List<String> columns = new ArrayList<>();
+    final var column = new StringBuilder();
+    boolean quoted = false;
+    boolean closed = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+
+      if (quoted) {
+        if (c != '"') {
+          column.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          column.append('"');
+          i++;
+        } else {
+          quoted = false;
+          closed = true;
+        }
+      } else if (c == ',') {
+        columns.add(closed ? column.toString() : column.toString().trim());
+        column.setLength(0);
+        closed = false;
+      } else if (closed) {
+        if (!Character.isWhitespace(c)) {
+          return null;
+        }
+      } else if (c == '"' && column.toString().isBlank()) {
+        column.setLength(0);
+        quoted = true;
+      } else {
+        column.append(c);
+      }
+    }
+
+    if (quoted) {
+      return null;
+    }
+    columns.add(closed ? column.toString() : column.toString().trim());
+
+    return columns;
+  }
+
+  private static boolean isCsvHeader(final String line) {
+    return line.trim().startsWith(CSV_HEADER);
+  }
+}
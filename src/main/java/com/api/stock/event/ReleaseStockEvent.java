@@ -1,3 +1,3 @@
 package com.api.stock.event;
 
-public record ReleaseStockEvent(String productSku, int quantity) {}
+public record ReleaseStockEvent(String orderId, String productSku, int quantity) {}
@@ -0,0 +1,13 @@
+package com.api.stock.event;
+
+public record StockChangedEvent(
+    Integer id, String productSku, Integer availableQuantity, Long version) {
+
+  public static StockChangedEvent evict(final String productSku) {
+    return new StockChangedEvent(null, productSku, null, null);
+  }
+
+  public boolean isEviction() {
+    return version == null || availableQuantity == null;
+  }
+}
@@ -1,3 +1,24 @@
 package com.api.stock.event;
 
-public record StockReservedEvent(String orderId, boolean success) {}
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Outcome of one reserve-stock request. The event id is derived from the order and the sku, so a
+ * replayed outcome carries the same id and the order side can drop duplicates; {@code version} is
+ * the version of this payload contract.
+ */
+public record StockReservedEvent(String eventId, int version, String orderId, boolean success) {
+
+  public static final int VERSION = 1;
+
+  public static StockReservedEvent of(
+      final String orderId, final String productSku, final boolean success) {
+    return new StockReservedEvent(eventId(orderId, productSku), VERSION, orderId, success);
+  }
+
+  private static String eventId(final String orderId, final String productSku) {
+    return UUID.nameUUIDFromBytes((orderId + ":" + productSku).getBytes(StandardCharsets.UTF_8))
+        .toString();
+  }
+}
@@ -1,28 +1,235 @@
 package com.api.stock.infra.gateway;
 
+import static java.lang.String.format;
+
 import com.api.stock.config.RabbitMQConfig;
 import com.api.stock.core.gateway.EventPublisher;
 import com.api.stock.infra.gateway.exception.GatewayException;
-import lombok.RequiredArgsConstructor;
+import com.api.stock.infra.messaging.MessageTracing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-@Component
-@RequiredArgsConstructor
+/**
+ * Publishes reservation outcomes asynchronously. Events wait in a bounded buffer, are flushed in
+ * batches on one channel with publisher confirms, and are retried when the broker nacks, returns or
+ * does not confirm them in time. While the broker is unreachable events stay buffered, and a full
+ * buffer fails the caller so the inbound message is redelivered instead of dropped. The trace of
+ * the caller is captured with the event and continued when it is sent.
+ */
 @Slf4j
+@Component
 public class RabbitMQEventPublisher implements EventPublisher {
 
+  private static final String BUFFER_FULL_MESSAGE = "Failed to publish event: %s";
+  private static final String METRIC_PREFIX = "rabbitmq.publisher.";
+  private static final String PUBLISH_SPAN = RabbitMQConfig.STOCK_RESERVED_QUEUE + " publish";
+
   private final RabbitTemplate rabbitTemplate;
+  private final MessageTracing messageTracing;
+  private final BlockingDeque<PendingEvent> buffer;
+  private final AtomicInteger unconfirmed = new AtomicInteger();
+  private final int batchSize;
+  private final int maxAttempts;
+  private final long offerTimeout;
+  private final long confirmTimeout;
+  private final Timer confirmLatency;
+  private final Counter retries;
+  private final Counter failures;
+
+  public RabbitMQEventPublisher(
+      final RabbitTemplate rabbitTemplate,
+      final MessageTracing messageTracing,
+      @Value("${app.rabbitmq.publisher.buffer-capacity:10000}") final int bufferCapacity,
+      @Value("${app.rabbitmq.publisher.batch-size:100}") final int batchSize,
+      @Value("${app.rabbitmq.publisher.max-attempts:5}") final int maxAttempts,
+      @Value("${app.rabbitmq.publisher.offer-timeout-ms:1000}") final long offerTimeout,
+      @Value("${app.rabbitmq.publisher.confirm-timeout-ms:5000}") final long confirmTimeout,
+      final ObjectProvider<MeterRegistry> meterRegistry) {
+    this.rabbitTemplate = rabbitTemplate;
+    this.messageTracing = messageTracing;
+    this.buffer = new LinkedBlockingDeque<>(bufferCapacity);
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.offerTimeout = offerTimeout;
+    this.confirmTimeout = confirmTimeout;
+
+    final var registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    registry.gauge(METRIC_PREFIX + "backlog", this.buffer, BlockingDeque::size);
+    registry.gauge(METRIC_PREFIX + "unconfirmed", this.unconfirmed);
+    this.confirmLatency = registry.timer(METRIC_PREFIX + "confirm.latency");
+    this.retries = registry.counter(METRIC_PREFIX + "retries");
+    this.failures = registry.counter(METRIC_PREFIX + "failures");
+  }
 
   @Override
-  public void publish(Object event) {
+  public void publish(final Object event) {
+    this.enqueue(
+        new PendingEvent(
+            event,
+            UUID.randomUUID().toString(),
+            1,
+            this.messageTracing.capture(),
+            System.currentTimeMillis()));
+  }
+
+  @Override
+  public void publishAll(final List<?> events) {
+    events.forEach(this::publish);
+  }
+
+  @Scheduled(fixedDelayString = "${app.rabbitmq.publisher.flush-interval-ms:10}")
+  public void flush() {
+    final List<PendingEvent> batch = new ArrayList<>(this.batchSize);
+
+    while (this.buffer.drainTo(batch, this.batchSize) > 0) {
+      if (!this.send(batch)) {
+        return;
+      }
+      batch.clear();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    this.flush();
+
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.confirmTimeout);
+    while (this.unconfirmed.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    if (!this.buffer.isEmpty() || this.unconfirmed.get() > 0) {
+      log.error(
+          "Shutting down with {} buffered and {} unconfirmed events",
+          this.buffer.size(),
+          this.unconfirmed.get());
+    }
+  }
+
+  private void enqueue(final PendingEvent pending) {
     try {
-      rabbitTemplate.convertAndSend(
-          RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.STOCK_RESERVED_QUEUE, event);
-    } catch (Exception e) {
-      log.error("Failed to publish event: {}", event, e);
-      throw new GatewayException("Failed to publish event: " + event);
+      if (!this.buffer.offer(pending, this.offerTimeout, TimeUnit.MILLISECONDS)) {
+        log.error("Outbound buffer is full, rejecting event: {}", pending.event());
+        throw new GatewayException(format(BUFFER_FULL_MESSAGE, pending.event()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GatewayException(format(BUFFER_FULL_MESSAGE, pending.event()));
+    }
+  }
+
+  private boolean send(final List<PendingEvent> batch) {
+    final var sent = new AtomicInteger();
+
+    try {
+      this.rabbitTemplate.invoke(
+          operations -> {
+            for (final var pending : batch) {
+              final var correlation = new CorrelationData(pending.correlationId());
+
+              this.messageTracing.send(
+                  pending.traceContext(),
+                  PUBLISH_SPAN,
+                  pending.queuedAt(),
+                  () ->
+                      operations.convertAndSend(
+                          RabbitMQConfig.EXCHANGE_NAME,
+                          RabbitMQConfig.STOCK_RESERVED_QUEUE,
+                          pending.event(),
+                          correlation));
+              sent.incrementAndGet();
+              this.awaitConfirm(pending, correlation);
+            }
+            return batch.size();
+          });
+      return true;
+    } catch (AmqpException e) {
+      final var unsent = batch.subList(sent.get(), batch.size());
+      log.warn("Failed to publish {} events, keeping them buffered", unsent.size(), e);
+
+      for (int i = unsent.size() - 1; i >= 0; i--) {
+        if (!this.buffer.offerFirst(unsent.get(i))) {
+          this.failures.increment();
+          log.error("Outbound buffer is full, dropping event: {}", unsent.get(i).event());
+        }
+      }
+      return false;
+    }
+  }
+
+  private void awaitConfirm(final PendingEvent pending, final CorrelationData correlation) {
+    final long start = System.nanoTime();
+    this.unconfirmed.incrementAndGet();
+
+    correlation
+        .getFuture()
+        .orTimeout(this.confirmTimeout, TimeUnit.MILLISECONDS)
+        .whenComplete(
+            (confirm, error) -> {
+              this.unconfirmed.decrementAndGet();
+
+              if (error == null && confirm.isAck() && correlation.getReturned() == null) {
+                this.confirmLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+              } else if (error != null) {
+                this.retry(pending, "timeout");
+              } else if (correlation.getReturned() != null) {
+                this.retry(pending, "returned: " + correlation.getReturned().getReplyText());
+              } else {
+                this.retry(pending, "nack: " + confirm.getReason());
+              }
+            });
+  }
+
+  private void retry(final PendingEvent pending, final String reason) {
+    if (pending.attempt() >= this.maxAttempts) {
+      this.failures.increment();
+      log.error(
+          "Dropping event after {} attempts ({}): {}", pending.attempt(), reason, pending.event());
+      return;
+    }
+
+    log.warn(
+        "Retrying event {} after attempt {} ({})",
+        pending.correlationId(),
+        pending.attempt(),
+        reason);
+    this.retries.increment();
+
+    if (!this.buffer.offer(pending.nextAttempt())) {
+      this.failures.increment();
+      log.error("Outbound buffer is full, dropping event: {}", pending.event());
+    }
+  }
+
+  private record PendingEvent(
+      Object event,
+      String correlationId,
+      int attempt,
+      Map<String, String> traceContext,
+      long queuedAt) {
+
+    PendingEvent nextAttempt() {
+      return new PendingEvent(
+          this.event, this.correlationId, this.attempt + 1, this.traceContext, this.queuedAt);
     }
   }
 }
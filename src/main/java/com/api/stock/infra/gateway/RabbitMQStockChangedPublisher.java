@@ -0,0 +1,56 @@
+package com.api.stock.infra.gateway;
+
+import com.api.stock.config.RabbitMQConfig;
+import com.api.stock.event.StockChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Fans stock changes out to every instance so they can refresh their local caches. Changes are sent
+ * after the surrounding transaction commits, and a failed send only logs: the cache TTL bounds the
+ * staleness, the write itself must not fail because of it.
+ */
+@Slf4j
+@Component
+public class RabbitMQStockChangedPublisher {
+
+  private final RabbitTemplate rabbitTemplate;
+  private final boolean enabled;
+
+  public RabbitMQStockChangedPublisher(
+      final RabbitTemplate rabbitTemplate,
+      @Value("${app.stock.cache.enabled:false}") final boolean enabled) {
+    this.rabbitTemplate = rabbitTemplate;
+    this.enabled = enabled;
+  }
+
+  public void publish(final StockChangedEvent event) {
+    if (!this.enabled) {
+      return;
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              send(event);
+            }
+          });
+    } else {
+      this.send(event);
+    }
+  }
+
+  private void send(final StockChangedEvent event) {
+    try {
+      this.rabbitTemplate.convertAndSend(RabbitMQConfig.STOCK_CHANGED_EXCHANGE_NAME, "", event);
+    } catch (Exception e) {
+      log.warn("Failed to publish stock change for sku: {}", event.productSku(), e);
+    }
+  }
+}
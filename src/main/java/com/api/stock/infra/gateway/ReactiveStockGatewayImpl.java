@@ -0,0 +1,66 @@
+package com.api.stock.infra.gateway;
+
+import static java.lang.String.format;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.ReactiveStockGateway;
+import com.api.stock.infra.gateway.exception.GatewayException;
+import io.r2dbc.spi.Readable;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.stock.reactive.enabled", havingValue = "true")
+public class ReactiveStockGatewayImpl implements ReactiveStockGateway {
+
+  private static final String FIND_ERROR_MESSAGE = "Error finding stock for sku=[%s].";
+  private static final String FIND_ALL_ERROR_MESSAGE = "Error finding stocks for skus=%s.";
+  private static final String SELECT_STOCK =
+      "SELECT id, product_sku, available_quantity, version FROM stock";
+  private static final int LOOKUP_CHUNK_SIZE = 500;
+
+  private final DatabaseClient databaseClient;
+
+  @Override
+  public Mono<Stock> findByProductSku(final String productSku) {
+    return this.databaseClient
+        .sql(SELECT_STOCK + " WHERE product_sku = :productSku")
+        .bind("productSku", productSku)
+        .map(this::toStock)
+        .one()
+        .onErrorMap(
+            DataAccessException.class,
+            e -> new GatewayException(format(FIND_ERROR_MESSAGE, productSku)));
+  }
+
+  @Override
+  public Flux<Stock> findByProductSkus(final Collection<String> productSkus) {
+    return Flux.fromIterable(productSkus)
+        .buffer(LOOKUP_CHUNK_SIZE)
+        .concatMap(
+            chunk ->
+                this.databaseClient
+                    .sql(SELECT_STOCK + " WHERE product_sku IN (:productSkus)")
+                    .bind("productSkus", chunk)
+                    .map(this::toStock)
+                    .all())
+        .onErrorMap(
+            DataAccessException.class,
+            e -> new GatewayException(format(FIND_ALL_ERROR_MESSAGE, productSkus)));
+  }
+
+  private Stock toStock(final Readable row) {
+    return Stock.restore(
+        row.get("id", Integer.class),
+        row.get("product_sku", String.class),
+        row.get("available_quantity", Integer.class),
+        row.get("version", Long.class));
+  }
+}
@@ -4,23 +4,46 @@ import static java.lang.String.format;
 
 import com.api.stock.core.domain.Stock;
 import com.api.stock.core.gateway.StockGateway;
+import com.api.stock.event.StockChangedEvent;
 import com.api.stock.infra.gateway.exception.GatewayException;
 import com.api.stock.infra.persistence.entity.StockEntity;
 import com.api.stock.infra.persistence.repository.StockRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @RequiredArgsConstructor
 public class StockGatewayImpl implements StockGateway {
 
   private static final String SAVE_ERROR_MESSAGE = "Error saving stock for sku=[%s].";
+  private static final String SAVE_ALL_ERROR_MESSAGE = "Error saving stocks for skus=%s.";
   private static final String FIND_ERROR_MESSAGE = "Stock for sku=[%s] not found.";
   private static final String UPDATE_ERROR_MESSAGE = "Error updating stock for sku=[%s].";
   private static final String DELETE_ERROR_MESSAGE = "Error deleting stock for sku=[%s].";
+  private static final String RESERVE_ERROR_MESSAGE = "Error reserving stock for sku=[%s].";
+  private static final String RELEASE_ERROR_MESSAGE = "Error releasing stock for sku=[%s].";
+  private static final String ADJUST_ERROR_MESSAGE = "Error adjusting stock for skus=%s.";
+  private static final String FIND_ALL_ERROR_MESSAGE = "Error finding stocks for skus=%s.";
+  private static final String PAGE_ERROR_MESSAGE = "Error listing stocks after sku=[%s].";
+  private static final String EXPORT_ERROR_MESSAGE = "Error exporting stocks updated since=[%s].";
+  private static final String UPSERT_ERROR_MESSAGE = "Error upserting stocks for skus=%s.";
+  private static final int LOOKUP_CHUNK_SIZE = 500;
 
   private final StockRepository stockRepository;
+  private final RabbitMQStockChangedPublisher stockChangedPublisher;
 
   @Override
   public Stock save(final Stock stock) {
@@ -32,6 +55,7 @@ public class StockGatewayImpl implements StockGateway {
               .build();
 
       final var saved = this.stockRepository.save(entity);
+      this.stockChangedPublisher.publish(StockChangedEvent.evict(stock.getProductSku()));
 
       return this.toResponse(saved);
     } catch (IllegalArgumentException e) {
@@ -39,6 +63,32 @@ public class StockGatewayImpl implements StockGateway {
     }
   }
 
+  @Override
+  @Transactional
+  public List<Stock> saveAll(final List<Stock> stocks) {
+    final var productSkus = stocks.stream().map(Stock::getProductSku).toList();
+
+    try {
+      final var entities =
+          stocks.stream()
+              .map(
+                  stock ->
+                      StockEntity.builder()
+                          .productSku(stock.getProductSku())
+                          .availableQuantity(stock.getAvailableQuantity())
+                          .build())
+              .toList();
+
+      final var saved = this.stockRepository.saveAll(entities);
+      this.stockRepository.flush();
+      productSkus.forEach(it -> this.stockChangedPublisher.publish(StockChangedEvent.evict(it)));
+
+      return saved.stream().map(this::toResponse).toList();
+    } catch (IllegalArgumentException | DataAccessException e) {
+      throw new GatewayException(format(SAVE_ALL_ERROR_MESSAGE, productSkus));
+    }
+  }
+
   @Override
   public Optional<Stock> findByProductSku(final String productSku) {
     try {
@@ -50,6 +100,53 @@ public class StockGatewayImpl implements StockGateway {
     }
   }
 
+  @Override
+  public List<Stock> findByProductSkus(final Collection<String> productSkus) {
+    try {
+      final var skus = productSkus.stream().distinct().toList();
+      final List<Stock> stocks = new ArrayList<>(skus.size());
+
+      for (int from = 0; from < skus.size(); from += LOOKUP_CHUNK_SIZE) {
+        final var chunk = skus.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, skus.size()));
+
+        this.stockRepository.findByProductSkuIn(chunk).stream()
+            .map(this::toResponse)
+            .forEach(stocks::add);
+      }
+
+      return stocks;
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_ALL_ERROR_MESSAGE, productSkus));
+    }
+  }
+
+  @Override
+  public List<Stock> findPage(final String after, final Integer quantityBelow, final int limit) {
+    try {
+      final var entities =
+          after == null
+              ? this.stockRepository.findFirstPage(quantityBelow, Limit.of(limit))
+              : this.stockRepository.findPageAfter(after, quantityBelow, Limit.of(limit));
+
+      return entities.stream().map(this::toResponse).toList();
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(PAGE_ERROR_MESSAGE, after));
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportAll(final LocalDateTime updatedSince, final Consumer<Stock> consumer) {
+    try (final var stocks =
+        updatedSince == null
+            ? this.stockRepository.streamAll()
+            : this.stockRepository.streamUpdatedSince(updatedSince)) {
+      stocks.forEach(consumer);
+    } catch (IllegalArgumentException | DataAccessException e) {
+      throw new GatewayException(format(EXPORT_ERROR_MESSAGE, updatedSince));
+    }
+  }
+
   @Override
   public Stock update(final Stock stock) {
     try {
@@ -62,6 +159,12 @@ public class StockGatewayImpl implements StockGateway {
       entity.setAvailableQuantity(stock.getAvailableQuantity());
 
       final var saved = this.stockRepository.save(entity);
+      this.stockChangedPublisher.publish(
+          new StockChangedEvent(
+              saved.getId(),
+              saved.getProductSku(),
+              saved.getAvailableQuantity(),
+              saved.getVersion()));
 
       return this.toResponse(saved);
     } catch (IllegalArgumentException e) {
@@ -69,16 +172,129 @@ public class StockGatewayImpl implements StockGateway {
     }
   }
 
+  @Override
+  @Transactional
+  public List<Stock> upsertAll(final List<Stock> stocks) {
+    final var productSkus = stocks.stream().map(Stock::getProductSku).toList();
+
+    try {
+      final var existing =
+          this.stockRepository.findByProductSkuIn(productSkus).stream()
+              .collect(Collectors.toMap(StockEntity::getProductSku, Function.identity()));
+
+      final var entities =
+          stocks.stream()
+              .map(
+                  stock -> {
+                    final var entity = existing.get(stock.getProductSku());
+                    if (entity == null) {
+                      return StockEntity.builder()
+                          .productSku(stock.getProductSku())
+                          .availableQuantity(stock.getAvailableQuantity())
+                          .build();
+                    }
+
+                    entity.setAvailableQuantity(stock.getAvailableQuantity());
+
+                    return entity;
+                  })
+              .toList();
+
+      final var saved = this.stockRepository.saveAll(entities);
+      this.stockRepository.flush();
+      productSkus.forEach(it -> this.stockChangedPublisher.publish(StockChangedEvent.evict(it)));
+
+      return saved.stream().map(this::toResponse).toList();
+    } catch (IllegalArgumentException | DataAccessException e) {
+      throw new GatewayException(format(UPSERT_ERROR_MESSAGE, productSkus));
+    }
+  }
+
   @Override
   public void deleteByProductSku(final String productSku) {
     try {
       this.stockRepository.deleteByProductSku(productSku);
+      this.stockChangedPublisher.publish(StockChangedEvent.evict(productSku));
     } catch (IllegalArgumentException e) {
       throw new GatewayException(format(DELETE_ERROR_MESSAGE, productSku));
     }
   }
 
+  @Override
+  public boolean reserve(final String productSku, final int quantity) {
+    try {
+      final var reserved = this.stockRepository.decreaseAvailableQuantity(productSku, quantity) > 0;
+
+      if (reserved) {
+        this.stockChangedPublisher.publish(StockChangedEvent.evict(productSku));
+      }
+
+      return reserved;
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(RESERVE_ERROR_MESSAGE, productSku));
+    }
+  }
+
+  @Override
+  @Transactional
+  public List<Boolean> reserveAll(final String productSku, final List<Integer> quantities) {
+    try {
+      final var entity = this.stockRepository.findForUpdateByProductSku(productSku);
+
+      if (entity.isEmpty()) {
+        return Collections.nCopies(quantities.size(), false);
+      }
+
+      final var stock = this.toResponse(entity.get());
+      final List<Boolean> reserved = new ArrayList<>(quantities.size());
+
+      for (final var quantity : quantities) {
+        reserved.add(stock.reserve(quantity));
+      }
+
+      entity.get().setAvailableQuantity(stock.getAvailableQuantity());
+
+      if (reserved.contains(true)) {
+        this.stockChangedPublisher.publish(StockChangedEvent.evict(productSku));
+      }
+
+      return reserved;
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(RESERVE_ERROR_MESSAGE, productSku));
+    }
+  }
+
+  @Override
+  public boolean release(final String productSku, final int quantity) {
+    try {
+      final var released = this.stockRepository.increaseAvailableQuantity(productSku, quantity) > 0;
+
+      if (released) {
+        this.stockChangedPublisher.publish(StockChangedEvent.evict(productSku));
+      }
+
+      return released;
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(RELEASE_ERROR_MESSAGE, productSku));
+    }
+  }
+
+  @Override
+  @Transactional
+  public void adjustAvailableQuantities(final Map<String, Integer> deltas) {
+    try {
+      deltas.forEach(
+          (productSku, delta) -> {
+            this.stockRepository.adjustAvailableQuantity(productSku, delta);
+            this.stockChangedPublisher.publish(StockChangedEvent.evict(productSku));
+          });
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(ADJUST_ERROR_MESSAGE, deltas.keySet()));
+    }
+  }
+
   private Stock toResponse(final StockEntity entity) {
-    return new Stock(entity.getId(), entity.getProductSku(), entity.getAvailableQuantity());
+    return Stock.restore(
+        entity.getId(), entity.getProductSku(), entity.getAvailableQuantity(), entity.getVersion());
   }
 }
@@ -0,0 +1,134 @@
+package com.api.stock.infra.gateway;
+
+import static java.lang.String.format;
+
+import com.api.stock.core.domain.ReservationState;
+import com.api.stock.core.domain.StockReservation;
+import com.api.stock.core.gateway.StockReservationGateway;
+import com.api.stock.core.usecase.exception.ReservationAlreadyExistsException;
+import com.api.stock.infra.gateway.exception.GatewayException;
+import com.api.stock.infra.persistence.entity.StockReservationEntity;
+import com.api.stock.infra.persistence.repository.StockReservationRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class StockReservationGatewayImpl implements StockReservationGateway {
+
+  private static final String SAVE_ERROR_MESSAGE =
+      "Error saving reservation for orderId=[%s] and sku=[%s].";
+  private static final String FIND_ERROR_MESSAGE = "Error finding reservations for orderId=[%s].";
+  private static final String FIND_BY_SKU_ERROR_MESSAGE =
+      "Error finding reservations for sku=[%s].";
+  private static final String NOT_FOUND_MESSAGE = "Reservation with id=[%s] not found.";
+  private static final String UPDATE_ERROR_MESSAGE = "Error updating reservation with id=[%s].";
+  private static final String RELEASE_ERROR_MESSAGE = "Error releasing reservation with id=[%s].";
+
+  private final StockReservationRepository stockReservationRepository;
+
+  @Override
+  public StockReservation save(final StockReservation reservation) {
+    try {
+      final var entity =
+          StockReservationEntity.builder()
+              .orderId(reservation.getOrderId())
+              .productSku(reservation.getProductSku())
+              .quantity(reservation.getQuantity())
+              .state(reservation.getState())
+              .build();
+
+      final var saved = this.stockReservationRepository.saveAndFlush(entity);
+
+      return this.toResponse(saved);
+    } catch (DataIntegrityViolationException e) {
+      throw new ReservationAlreadyExistsException(
+          reservation.getOrderId(), reservation.getProductSku());
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(
+          format(SAVE_ERROR_MESSAGE, reservation.getOrderId(), reservation.getProductSku()));
+    }
+  }
+
+  @Override
+  public Optional<StockReservation> findByOrderIdAndProductSku(
+      final String orderId, final String productSku) {
+    try {
+      return this.stockReservationRepository
+          .findByOrderIdAndProductSku(orderId, productSku)
+          .map(this::toResponse);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_ERROR_MESSAGE, orderId));
+    }
+  }
+
+  @Override
+  public List<StockReservation> findByProductSkuAndOrderIds(
+      final String productSku, final Collection<String> orderIds) {
+    try {
+      return this.stockReservationRepository
+          .findByProductSkuAndOrderIdIn(productSku, orderIds)
+          .stream()
+          .map(this::toResponse)
+          .toList();
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_BY_SKU_ERROR_MESSAGE, productSku));
+    }
+  }
+
+  @Override
+  public List<StockReservation> findByOrderId(final String orderId) {
+    try {
+      return this.stockReservationRepository.findByOrderId(orderId).stream()
+          .map(this::toResponse)
+          .toList();
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(FIND_ERROR_MESSAGE, orderId));
+    }
+  }
+
+  @Override
+  public StockReservation update(final StockReservation reservation) {
+    try {
+      final var entity =
+          this.stockReservationRepository
+              .findById(reservation.getId())
+              .orElseThrow(
+                  () -> new GatewayException(format(NOT_FOUND_MESSAGE, reservation.getId())));
+
+      entity.setState(reservation.getState());
+
+      final var saved = this.stockReservationRepository.save(entity);
+
+      return this.toResponse(saved);
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(UPDATE_ERROR_MESSAGE, reservation.getId()));
+    }
+  }
+
+  @Override
+  public boolean release(final StockReservation reservation) {
+    try {
+      return this.stockReservationRepository.updateState(
+              reservation.getId(), ReservationState.RESERVED, ReservationState.RELEASED)
+          == 1;
+    } catch (IllegalArgumentException e) {
+      throw new GatewayException(format(RELEASE_ERROR_MESSAGE, reservation.getId()));
+    }
+  }
+
+  private StockReservation toResponse(final StockReservationEntity entity) {
+    return new StockReservation(
+        entity.getId(),
+        entity.getOrderId(),
+        entity.getProductSku(),
+        entity.getQuantity(),
+        entity.getState(),
+        entity.getCreatedAt(),
+        entity.getUpdatedAt());
+  }
+}
@@ -0,0 +1,233 @@
+package com.api.stock.infra.gateway.cache;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.StockGateway;
+import com.api.stock.event.StockChangedEvent;
+import com.api.stock.infra.gateway.StockGatewayImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache in front of {@link StockGatewayImpl}. Every mutation evicts the sku, and
+ * evicts it again once the surrounding transaction completes, so a read racing an uncommitted write
+ * cannot keep the old quantity cached.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "app.stock.cache.enabled", havingValue = "true")
+public class CachingStockGateway implements StockGateway {
+
+  private static final String CACHE_NAME = "stock";
+
+  private final StockGateway delegate;
+  private final Cache<String, Optional<CachedStock>> cache;
+
+  public CachingStockGateway(
+      final StockGatewayImpl delegate,
+      @Value("${app.stock.cache.maximum-size:100000}") final long maximumSize,
+      @Value("${app.stock.cache.ttl-ms:30000}") final long ttl,
+      final ObjectProvider<MeterRegistry> meterRegistry) {
+    this.delegate = delegate;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofMillis(ttl))
+            .recordStats()
+            .build();
+
+    meterRegistry.ifAvailable(it -> CaffeineCacheMetrics.monitor(it, this.cache, CACHE_NAME));
+  }
+
+  @Override
+  public Stock save(final Stock stock) {
+    final var saved = this.delegate.save(stock);
+    this.evict(stock.getProductSku());
+
+    return saved;
+  }
+
+  @Override
+  public List<Stock> saveAll(final List<Stock> stocks) {
+    final var saved = this.delegate.saveAll(stocks);
+    this.evictAll(stocks.stream().map(Stock::getProductSku).toList());
+
+    return saved;
+  }
+
+  @Override
+  public Optional<Stock> findByProductSku(final String productSku) {
+    return this.cache
+        .get(productSku, sku -> this.delegate.findByProductSku(sku).map(CachedStock::of))
+        .map(CachedStock::toStock);
+  }
+
+  @Override
+  public List<Stock> findByProductSkus(final Collection<String> productSkus) {
+    return this.cache.getAll(productSkus, this::loadAll).values().stream()
+        .flatMap(Optional::stream)
+        .map(CachedStock::toStock)
+        .toList();
+  }
+
+  @Override
+  public List<Stock> findPage(final String after, final Integer quantityBelow, final int limit) {
+    return this.delegate.findPage(after, quantityBelow, limit);
+  }
+
+  @Override
+  public void exportAll(final LocalDateTime updatedSince, final Consumer<Stock> consumer) {
+    this.delegate.exportAll(updatedSince, consumer);
+  }
+
+  @Override
+  public Stock update(final Stock stock) {
+    final var updated = this.delegate.update(stock);
+    this.evict(stock.getProductSku());
+
+    return updated;
+  }
+
+  @Override
+  public List<Stock> upsertAll(final List<Stock> stocks) {
+    final var upserted = this.delegate.upsertAll(stocks);
+    this.evictAll(stocks.stream().map(Stock::getProductSku).toList());
+
+    return upserted;
+  }
+
+  @Override
+  public void deleteByProductSku(final String productSku) {
+    this.delegate.deleteByProductSku(productSku);
+    this.evict(productSku);
+  }
+
+  @Override
+  public boolean reserve(final String productSku, final int quantity) {
+    final var reserved = this.delegate.reserve(productSku, quantity);
+
+    if (reserved) {
+      this.evict(productSku);
+    }
+
+    return reserved;
+  }
+
+  @Override
+  public List<Boolean> reserveAll(final String productSku, final List<Integer> quantities) {
+    final var reserved = this.delegate.reserveAll(productSku, quantities);
+
+    if (reserved.contains(true)) {
+      this.evict(productSku);
+    }
+
+    return reserved;
+  }
+
+  @Override
+  public boolean release(final String productSku, final int quantity) {
+    final var released = this.delegate.release(productSku, quantity);
+
+    if (released) {
+      this.evict(productSku);
+    }
+
+    return released;
+  }
+
+  @Override
+  public void adjustAvailableQuantities(final Map<String, Integer> deltas) {
+    this.delegate.adjustAvailableQuantities(deltas);
+    this.evictAll(deltas.keySet());
+  }
+
+  public void refresh(final StockChangedEvent event) {
+    if (event.isEviction()) {
+      this.cache.invalidate(event.productSku());
+      return;
+    }
+
+    this.cache
+        .asMap()
+        .computeIfPresent(
+            event.productSku(),
+            (productSku, cached) -> {
+              if (cached.isEmpty()) {
+                return null;
+              }
+
+              final var version = cached.get().version();
+              if (version != null && version >= event.version()) {
+                return cached;
+              }
+
+              return Optional.of(
+                  new CachedStock(
+                      event.id(), productSku, event.availableQuantity(), event.version()));
+            });
+  }
+
+  public CacheStats stats() {
+    return this.cache.stats();
+  }
+
+  private Map<String, Optional<CachedStock>> loadAll(final Set<? extends String> productSkus) {
+    final Map<String, Optional<CachedStock>> loaded = new HashMap<>();
+    productSkus.forEach(productSku -> loaded.put(productSku, Optional.empty()));
+
+    this.delegate
+        .findByProductSkus(List.copyOf(productSkus))
+        .forEach(stock -> loaded.put(stock.getProductSku(), Optional.of(CachedStock.of(stock))));
+
+    return loaded;
+  }
+
+  private void evict(final String productSku) {
+    this.evictAll(List.of(productSku));
+  }
+
+  private void evictAll(final Collection<String> productSkus) {
+    this.cache.invalidateAll(productSkus);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+              cache.invalidateAll(productSkus);
+            }
+          });
+    }
+  }
+
+  private record CachedStock(
+      Integer id, String productSku, Integer availableQuantity, Long version) {
+
+    private static CachedStock of(final Stock stock) {
+      return new CachedStock(
+          stock.getId(), stock.getProductSku(), stock.getAvailableQuantity(), stock.getVersion());
+    }
+
+    private Stock toStock() {
+      return Stock.restore(this.id, this.productSku, this.availableQuantity, this.version);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.api.stock.infra.gateway.outbox;
+
+import static java.lang.String.format;
+
+import com.api.stock.config.RabbitMQConfig;
+import com.api.stock.core.gateway.EventPublisher;
+import com.api.stock.event.StockReservedEvent;
+import com.api.stock.infra.gateway.exception.GatewayException;
+import com.api.stock.infra.messaging.MessageTracing;
+import com.api.stock.infra.persistence.entity.OutboxEventEntity;
+import com.api.stock.infra.persistence.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes events to the outbox table in the caller's transaction, so they are published by the
+ * {@link OutboxRelay} only if the stock change that produced them commits. The caller's trace
+ * context is stored with each event for the relay to continue.
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.stock.outbox.enabled", havingValue = "true")
+public class OutboxEventPublisher implements EventPublisher {
+
+  private static final String SERIALIZE_ERROR_MESSAGE = "Error serializing event: %s";
+  private static final String SAVE_ERROR_MESSAGE = "Error saving %d events to the outbox.";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+  private final MessageTracing messageTracing;
+
+  @Override
+  @Transactional
+  public void publish(final Object event) {
+    this.publishAll(List.of(event));
+  }
+
+  @Override
+  @Transactional
+  public void publishAll(final List<?> events) {
+    final var traceContext = this.traceContext();
+    final var entities = events.stream().map(it -> this.toEntity(it, traceContext)).toList();
+
+    try {
+      this.outboxEventRepository.saveAll(entities);
+    } catch (DataAccessException e) {
+      throw new GatewayException(format(SAVE_ERROR_MESSAGE, entities.size()));
+    }
+  }
+
+  private OutboxEventEntity toEntity(final Object event, final String traceContext) {
+    try {
+      return OutboxEventEntity.builder()
+          .aggregateKey(event instanceof StockReservedEvent it ? it.orderId() : null)
+          .exchange(RabbitMQConfig.EXCHANGE_NAME)
+          .routingKey(RabbitMQConfig.STOCK_RESERVED_QUEUE)
+          .eventType(event.getClass().getName())
+          .payload(this.objectMapper.writeValueAsString(event))
+          .traceContext(traceContext)
+          .build();
+    } catch (JsonProcessingException e) {
+      throw new GatewayException(format(SERIALIZE_ERROR_MESSAGE, event));
+    }
+  }
+
+  private String traceContext() {
+    final var context = this.messageTracing.capture();
+
+    try {
+      return context.isEmpty() ? null : this.objectMapper.writeValueAsString(context);
+    } catch (JsonProcessingException e) {
+      throw new GatewayException(format(SERIALIZE_ERROR_MESSAGE, context));
+    }
+  }
+}
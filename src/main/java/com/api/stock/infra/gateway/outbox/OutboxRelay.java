@@ -0,0 +1,180 @@
+package com.api.stock.infra.gateway.outbox;
+
+import com.api.stock.infra.messaging.ConsumerLagRecorder;
+import com.api.stock.infra.messaging.MessageTracing;
+import com.api.stock.infra.persistence.entity.OutboxEventEntity;
+import com.api.stock.infra.persistence.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Drains the outbox to RabbitMQ. Each batch is locked, published with publisher confirms and
+ * deleted in one transaction; events the broker did not confirm stay in the table for the next run,
+ * so delivery is at least once. Each send continues the trace stored with its event.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.stock.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private static final String RELAY_SPAN = "outbox relay";
+  private static final TypeReference<Map<String, String>> TRACE_CONTEXT_TYPE =
+      new TypeReference<>() {};
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final RabbitTemplate rabbitTemplate;
+  private final TransactionOperations transactionOperations;
+  private final MessageTracing messageTracing;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+  private final long confirmTimeout;
+
+  public OutboxRelay(
+      final OutboxEventRepository outboxEventRepository,
+      final RabbitTemplate rabbitTemplate,
+      final TransactionOperations transactionOperations,
+      final MessageTracing messageTracing,
+      final ObjectMapper objectMapper,
+      @Value("${app.stock.outbox.batch-size:100}") final int batchSize,
+      @Value("${app.stock.outbox.confirm-timeout-ms:5000}") final long confirmTimeout) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.rabbitTemplate = rabbitTemplate;
+    this.transactionOperations = transactionOperations;
+    this.messageTracing = messageTracing;
+    this.objectMapper = objectMapper;
+    this.batchSize = batchSize;
+    this.confirmTimeout = confirmTimeout;
+  }
+
+  @Scheduled(fixedDelayString = "${app.stock.outbox.poll-interval-ms:50}")
+  public void relay() {
+    try {
+      Integer relayed;
+      do {
+        relayed = this.transactionOperations.execute(status -> this.relayBatch());
+      } while (relayed != null && relayed == this.batchSize);
+    } catch (AmqpException e) {
+      log.warn("Failed to relay outbox events, retrying later", e);
+    }
+  }
+
+  private int relayBatch() {
+    final var events = this.outboxEventRepository.findNextBatch(Limit.of(this.batchSize));
+
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    final List<CorrelationData> correlations = new ArrayList<>(events.size());
+    this.rabbitTemplate.invoke(
+        operations -> {
+          for (final var event : events) {
+            final var correlation = new CorrelationData(String.valueOf(event.getId()));
+
+            this.messageTracing.send(
+                this.traceContext(event),
+                RELAY_SPAN,
+                this.queuedAt(event),
+                () ->
+                    operations.send(
+                        event.getExchange(),
+                        event.getRoutingKey(),
+                        this.toMessage(event),
+                        correlation));
+            correlations.add(correlation);
+          }
+          return events.size();
+        });
+
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.confirmTimeout);
+    final List<Long> confirmed = new ArrayList<>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      if (this.isConfirmed(correlations.get(i), deadline)) {
+        confirmed.add(events.get(i).getId());
+      } else {
+        log.warn("Outbox event {} was not confirmed, retrying later", events.get(i).getId());
+      }
+    }
+
+    this.outboxEventRepository.deleteAllByIdInBatch(confirmed);
+
+    return confirmed.size();
+  }
+
+  private boolean isConfirmed(final CorrelationData correlation, final long deadline) {
+    try {
+      final var confirm =
+          correlation.getFuture().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+      return confirm.isAck() && correlation.getReturned() == null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  private Map<String, String> traceContext(final OutboxEventEntity event) {
+    if (event.getTraceContext() == null) {
+      return Map.of();
+    }
+
+    try {
+      return this.objectMapper.readValue(event.getTraceContext(), TRACE_CONTEXT_TYPE);
+    } catch (JsonProcessingException e) {
+      log.warn("Ignoring unreadable trace context of outbox event {}", event.getId());
+      return Map.of();
+    }
+  }
+
+  private long queuedAt(final OutboxEventEntity event) {
+    return event.getCreatedAt() != null
+        ? event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+        : System.currentTimeMillis();
+  }
+
+  /** Without a creation time the template stamps the publish time when the event is sent. */
+  private Message toMessage(final OutboxEventEntity event) {
+    final var builder =
+        MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setContentEncoding(StandardCharsets.UTF_8.name())
+            .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getEventType())
+            .setMessageId(String.valueOf(event.getId()))
+            .setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+
+    if (event.getCreatedAt() != null) {
+      final var createdAt = event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+
+      builder
+          .setTimestamp(Date.from(createdAt))
+          .setHeader(ConsumerLagRecorder.PUBLISHED_AT_HEADER, createdAt.toEpochMilli());
+    }
+
+    return builder.build();
+  }
+}
@@ -0,0 +1,6 @@
+package com.api.stock.infra.gateway.product;
+
+public enum ProductApiFallback {
+  FAIL_FAST,
+  CACHE_ONLY
+}
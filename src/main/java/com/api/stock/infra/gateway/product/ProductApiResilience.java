@@ -0,0 +1,110 @@
+package com.api.stock.infra.gateway.product;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class ProductApiResilience {
+
+  private static final String TRANSITIONS_METRIC = "product_api.circuit_breaker.transitions";
+  private static final String TRANSITION_MESSAGE =
+      "Product API circuit breaker moved from {} to {}";
+
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+  private final TimeLimiter timeLimiter;
+
+  public ProductApiResilience(
+      @Value("${app.product-api.name}") final String name,
+      @Value("${app.product-api.resilience.timeout-ms:2000}") final long timeout,
+      @Value("${app.product-api.resilience.max-concurrent-calls:32}") final int maxConcurrentCalls,
+      @Value("${app.product-api.resilience.failure-rate-threshold:50}")
+          final float failureRateThreshold,
+      @Value("${app.product-api.resilience.slow-call-duration-ms:1000}") final long slowCall,
+      @Value("${app.product-api.resilience.sliding-window-size:50}") final int slidingWindowSize,
+      @Value("${app.product-api.resilience.open-state-ms:10000}") final long openState,
+      final ObjectProvider<MeterRegistry> meterRegistry) {
+    final var timeLimiterRegistry =
+        TimeLimiterRegistry.of(
+            TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(timeout)).build());
+    final var bulkheadRegistry =
+        BulkheadRegistry.of(
+            BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    final var circuitBreakerRegistry =
+        CircuitBreakerRegistry.of(
+            CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCall))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(10, slidingWindowSize))
+                .waitDurationInOpenState(Duration.ofMillis(openState))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+
+    this.timeLimiter = timeLimiterRegistry.timeLimiter(name);
+    this.bulkhead = bulkheadRegistry.bulkhead(name);
+    this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+
+    this.circuitBreaker
+        .getEventPublisher()
+        .onStateTransition(
+            event -> {
+              final var transition = event.getStateTransition();
+              log.warn(TRANSITION_MESSAGE, transition.getFromState(), transition.getToState());
+              meterRegistry.ifAvailable(
+                  it ->
+                      it.counter(
+                              TRANSITIONS_METRIC,
+                              "name",
+                              name,
+                              "from",
+                              transition.getFromState().name(),
+                              "to",
+                              transition.getToState().name())
+                          .increment());
+            });
+
+    meterRegistry.ifAvailable(
+        it -> {
+          TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(it);
+          TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(it);
+          TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiterRegistry).bindTo(it);
+        });
+  }
+
+  public <T> Mono<T> protect(final Mono<T> call) {
+    return call.transformDeferred(TimeLimiterOperator.of(this.timeLimiter))
+        .transformDeferred(BulkheadOperator.of(this.bulkhead))
+        .transformDeferred(CircuitBreakerOperator.of(this.circuitBreaker));
+  }
+
+  public CircuitBreaker.State state() {
+    return this.circuitBreaker.getState();
+  }
+}
@@ -2,37 +2,233 @@ package com.api.stock.infra.gateway.product;
 
 import static java.lang.String.format;
 
+import com.api.stock.config.ProductApiConfig;
 import com.api.stock.core.gateway.ProductApiGateway;
 import com.api.stock.core.gateway.response.ProductDetailsResponse;
 import com.api.stock.infra.gateway.exception.GatewayException;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+/**
+ * Product API client sharing one pooled {@link WebClient}. Lookups are cached per sku, including
+ * 404s for a shorter TTL, and concurrent lookups for the same sku share one in-flight request. Bulk
+ * lookups fan out with bounded concurrency, or go through the batch endpoint when configured. Every
+ * upstream call runs behind {@link ProductApiResilience}; with the {@code CACHE_ONLY} fallback,
+ * failed lookups are answered from the last product seen for the sku, when there is one.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class ProductApiServiceGateway implements ProductApiGateway {
 
-  @Value("${app.product-api.base-url}")
-  private String productApiBaseUrl;
+  private static final String CACHE_NAME = "product";
+  private static final String ERROR_MESSAGE = "Failed to access Product API=[%s]";
+  private static final String BATCH_ERROR_MESSAGE = "Failed to access Product API for skus={}";
 
-  private final WebClient.Builder webClientBuilder;
+  private final WebClient webClient;
+  private final ProductApiResilience resilience;
+  private final ProductApiFallback fallback;
+  private final AsyncCache<String, Optional<ProductDetailsResponse>> cache;
+  private final Cache<String, ProductDetailsResponse> lastKnown;
+  private final int batchConcurrency;
+  private final int batchSize;
+  private final String batchPath;
+
+  public ProductApiServiceGateway(
+      @Qualifier(ProductApiConfig.PRODUCT_API_WEB_CLIENT) final WebClient webClient,
+      final ProductApiResilience resilience,
+      @Value("${app.product-api.resilience.fallback:FAIL_FAST}") final ProductApiFallback fallback,
+      @Value("${app.product-api.resilience.last-known-ttl-ms:86400000}") final long lastKnownTtl,
+      @Value("${app.product-api.cache.maximum-size:10000}") final long maximumSize,
+      @Value("${app.product-api.cache.ttl-ms:300000}") final long ttl,
+      @Value("${app.product-api.cache.negative-ttl-ms:30000}") final long negativeTtl,
+      @Value("${app.product-api.batch.concurrency:16}") final int batchConcurrency,
+      @Value("${app.product-api.batch.size:100}") final int batchSize,
+      @Value("${app.product-api.batch.path:}") final String batchPath,
+      final ObjectProvider<MeterRegistry> meterRegistry) {
+    this.webClient = webClient;
+    this.resilience = resilience;
+    this.fallback = fallback;
+    this.batchConcurrency = batchConcurrency;
+    this.batchSize = batchSize;
+    this.batchPath = batchPath;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ProductExpiry(Duration.ofMillis(ttl), Duration.ofMillis(negativeTtl)))
+            .recordStats()
+            .buildAsync();
+    this.lastKnown =
+        Caffeine.newBuilder()
+            .maximumSize(fallback == ProductApiFallback.CACHE_ONLY ? maximumSize : 0)
+            .expireAfterWrite(Duration.ofMillis(lastKnownTtl))
+            .build();
+
+    meterRegistry.ifAvailable(it -> CaffeineCacheMetrics.monitor(it, this.cache, CACHE_NAME));
+  }
 
   @Override
   public ProductDetailsResponse getProductDetails(final String productSku) {
     try {
-      final String url = productApiBaseUrl + "/" + productSku;
+      return this.cache.get(productSku, (sku, executor) -> this.fetch(sku)).join().orElse(null);
+    } catch (CompletionException e) {
+      final var product = this.fallback(productSku);
+      if (product.isPresent()) {
+        return product.get();
+      }
 
-      return callService(url);
-    } catch (Exception e) {
-      throw new GatewayException(format("Failed to access Product API=[%s]", e.getMessage()));
+      final var cause = e.getCause() != null ? e.getCause() : e;
+      throw new GatewayException(format(ERROR_MESSAGE, cause.getMessage()));
     }
   }
 
-  private ProductDetailsResponse callService(final String url) {
-    WebClient webClient = webClientBuilder.baseUrl(url).build();
+  @Override
+  public Map<String, Optional<ProductDetailsResponse>> getProductDetails(
+      final Collection<String> productSkus) {
+    final var lookups =
+        this.batchPath.isBlank()
+            ? Flux.fromIterable(productSkus)
+                .distinct()
+                .flatMap(
+                    sku ->
+                        this.lookup(
+                            Set.of(sku),
+                            () ->
+                                this.cache
+                                    .get(sku, (key, executor) -> this.fetch(key))
+                                    .thenApply(it -> Map.of(sku, it))),
+                    this.batchConcurrency)
+            : Flux.fromIterable(productSkus)
+                .distinct()
+                .buffer(this.batchSize)
+                .flatMap(
+                    skus ->
+                        this.lookup(
+                            skus, () -> this.cache.getAll(skus, (keys, e) -> this.fetchAll(keys))),
+                    this.batchConcurrency);
+
+    return lookups
+        .flatMapIterable(Map::entrySet)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+        .block();
+  }
+
+  private Mono<Map<String, Optional<ProductDetailsResponse>>> lookup(
+      final Collection<String> productSkus,
+      final Supplier<CompletableFuture<Map<String, Optional<ProductDetailsResponse>>>> future) {
+    return Mono.fromFuture(future)
+        .onErrorResume(
+            e -> {
+              log.warn(BATCH_ERROR_MESSAGE, productSkus, e.toString());
 
-    return webClient.get().retrieve().bodyToMono(ProductDetailsResponse.class).block();
+              final Map<String, Optional<ProductDetailsResponse>> fallbacks = new HashMap<>();
+              productSkus.forEach(
+                  sku -> this.fallback(sku).ifPresent(it -> fallbacks.put(sku, Optional.of(it))));
+
+              return Mono.just(fallbacks);
+            });
+  }
+
+  private Optional<ProductDetailsResponse> fallback(final String productSku) {
+    return Optional.ofNullable(this.lastKnown.getIfPresent(productSku));
+  }
+
+  private void remember(final ProductDetailsResponse product) {
+    if (this.fallback == ProductApiFallback.CACHE_ONLY) {
+      this.lastKnown.put(product.getSku(), product);
+    }
+  }
+
+  private CompletableFuture<Map<String, Optional<ProductDetailsResponse>>> fetchAll(
+      final Set<? extends String> productSkus) {
+    final var call =
+        this.webClient
+            .post()
+            .uri(this.batchPath)
+            .bodyValue(productSkus)
+            .retrieve()
+            .bodyToFlux(ProductDetailsResponse.class)
+            .doOnNext(this::remember)
+            .collectMap(ProductDetailsResponse::getSku, Function.identity());
+
+    return this.resilience
+        .protect(call)
+        .contextCapture()
+        .map(
+            found ->
+                productSkus.stream()
+                    .collect(
+                        Collectors.<String, String, Optional<ProductDetailsResponse>>toMap(
+                            Function.identity(), sku -> Optional.ofNullable(found.get(sku)))))
+        .toFuture();
+  }
+
+  private CompletableFuture<Optional<ProductDetailsResponse>> fetch(final String productSku) {
+    final var call =
+        this.webClient
+            .get()
+            .uri("/{productSku}", productSku)
+            .retrieve()
+            .bodyToMono(ProductDetailsResponse.class)
+            .doOnNext(this::remember)
+            .map(Optional::of)
+            .onErrorResume(
+                WebClientResponseException.NotFound.class, e -> Mono.just(Optional.empty()))
+            .defaultIfEmpty(Optional.empty());
+
+    return this.resilience.protect(call).contextCapture().toFuture();
+  }
+
+  private record ProductExpiry(Duration ttl, Duration negativeTtl)
+      implements Expiry<String, Optional<ProductDetailsResponse>> {
+
+    @Override
+    public long expireAfterCreate(
+        final String productSku,
+        final Optional<ProductDetailsResponse> product,
+        final long currentTime) {
+      return (product.isPresent() ? this.ttl : this.negativeTtl).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        final String productSku,
+        final Optional<ProductDetailsResponse> product,
+        final long currentTime,
+        final long currentDuration) {
+      return this.expireAfterCreate(productSku, product, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        final String productSku,
+        final Optional<ProductDetailsResponse> product,
+        final long currentTime,
+        final long currentDuration) {
+      return currentDuration;
+    }
   }
 }
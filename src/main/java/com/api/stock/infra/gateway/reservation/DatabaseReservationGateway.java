@@ -0,0 +1,44 @@
+package com.api.stock.infra.gateway.reservation;
+
+import com.api.stock.core.gateway.ReservationGateway;
+import com.api.stock.core.gateway.StockGateway;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    name = "app.stock.reservation.engine",
+    havingValue = "database",
+    matchIfMissing = true)
+public class DatabaseReservationGateway implements ReservationGateway {
+
+  private final StockGateway stockGateway;
+
+  @Override
+  public boolean reserve(final String productSku, final int quantity) {
+    return this.stockGateway.reserve(productSku, quantity);
+  }
+
+  @Override
+  public List<Boolean> reserveAll(final String productSku, final List<Integer> quantities) {
+    return this.stockGateway.reserveAll(productSku, quantities);
+  }
+
+  @Override
+  public boolean release(final String productSku, final int quantity) {
+    return this.stockGateway.release(productSku, quantity);
+  }
+
+  @Override
+  public void evict(final String productSku) {
+    // Nothing is held in memory, every reservation already hits the database.
+  }
+
+  @Override
+  public void refresh(final String productSku, final int availableQuantity) {
+    // Nothing is held in memory, every reservation already hits the database.
+  }
+}
@@ -0,0 +1,28 @@
+package com.api.stock.infra.gateway.reservation;
+
+import java.util.List;
+
+public record HotSkuReport(
+    long windowMillis, long reservations, double reservationsPerSecond, List<Sku> skus) {
+
+  /**
+   * Counts are Space-Saving estimates: they never undercount, and overcount by at most {@code
+   * error}. Lock wait is the time spent in the stock update, waiting for the row or shard lock
+   * included; replays are redeliveries answered from an earlier outcome.
+   */
+  public record Sku(
+      String sku,
+      long reservations,
+      long error,
+      double reservationsPerSecond,
+      long reserved,
+      long rejected,
+      long failed,
+      long replays,
+      double averageMillis,
+      double maxMillis,
+      double averageLockWaitMillis,
+      double maxLockWaitMillis) {}
+
+  public record Estimate(String sku, long reservations, double reservationsPerSecond) {}
+}
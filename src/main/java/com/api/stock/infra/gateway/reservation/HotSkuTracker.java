@@ -0,0 +1,355 @@
+package com.api.stock.infra.gateway.reservation;
+
+import com.api.stock.core.domain.ReservationOutcome;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Heavy hitters of the reservation stream over a sliding window. The window is a ring of slices,
+ * each holding a Space-Saving summary of at most {@code capacity} skus and a count-min sketch; a
+ * slice is cleared when the ring comes back to it. Memory is fixed, and recording costs a hash
+ * lookup and a few array increments under the lock of the current slice.
+ *
+ * <p>Each recording thread is mapped to one of a few rings, so consumers rarely share a lock;
+ * reports add the rings up, which Space-Saving summaries and sketches both allow. Lock wait and
+ * replays are only attached to skus the current slice is already tracking, which is always the case
+ * for the hot ones. Events without a sku are not tracked.
+ */
+public class HotSkuTracker {
+
+  private static final int SKETCH_DEPTH = 4;
+  private static final int SKETCH_WIDTH = 1024;
+  private static final int[] SKETCH_SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+  private final int topK;
+  private final int capacity;
+  private final long sliceNanos;
+  private final int slices;
+  private final Slice[][] rings;
+  private final LongSupplier clock;
+  private final long origin;
+
+  public HotSkuTracker(
+      final int topK, final int capacity, final Duration window, final int slices) {
+    this(
+        topK,
+        capacity,
+        window,
+        slices,
+        Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors()), 8),
+        System::nanoTime);
+  }
+
+  HotSkuTracker(
+      final int topK,
+      final int capacity,
+      final Duration window,
+      final int slices,
+      final int stripes,
+      final LongSupplier clock) {
+    if (topK <= 0 || capacity < topK || slices <= 0 || stripes <= 0 || window.toNanos() < slices) {
+      throw new IllegalArgumentException(
+          "Hot sku tracker needs 0 < topK <= capacity and a window of at least one slice");
+    }
+
+    this.topK = topK;
+    this.capacity = capacity;
+    this.sliceNanos = window.toNanos() / slices;
+    this.slices = slices;
+    this.rings = new Slice[Integer.highestOneBit(stripes)][slices];
+    this.clock = clock;
+    this.origin = clock.getAsLong();
+
+    for (final var ring : this.rings) {
+      for (int i = 0; i < slices; i++) {
+        ring[i] = new Slice(capacity);
+      }
+    }
+  }
+
+  public void reserved(
+      final String productSku, final ReservationOutcome outcome, final long elapsedNanos) {
+    if (isUntracked(productSku)) {
+      return;
+    }
+
+    final var slice = this.current();
+
+    try {
+      slice.total++;
+      slice.sketch(productSku);
+
+      final var counter = slice.admit(productSku, this.capacity);
+      switch (outcome) {
+        case RESERVED -> counter.reserved++;
+        case INSUFFICIENT_STOCK -> counter.rejected++;
+        case FAILED -> counter.failed++;
+        case INVALID -> {}
+      }
+      counter.elapsedNanos += elapsedNanos;
+      counter.maxElapsedNanos = Math.max(counter.maxElapsedNanos, elapsedNanos);
+    } finally {
+      slice.lock.unlock();
+    }
+  }
+
+  public void stockUpdated(final String productSku, final long elapsedNanos) {
+    if (isUntracked(productSku)) {
+      return;
+    }
+
+    final var slice = this.current();
+
+    try {
+      final var counter = slice.counters.get(productSku);
+
+      if (counter != null) {
+        counter.lockWaits++;
+        counter.lockWaitNanos += elapsedNanos;
+        counter.maxLockWaitNanos = Math.max(counter.maxLockWaitNanos, elapsedNanos);
+      }
+    } finally {
+      slice.lock.unlock();
+    }
+  }
+
+  public void replayed(final String productSku) {
+    if (isUntracked(productSku)) {
+      return;
+    }
+
+    final var slice = this.current();
+
+    try {
+      final var counter = slice.counters.get(productSku);
+
+      if (counter != null) {
+        counter.replays++;
+      }
+    } finally {
+      slice.lock.unlock();
+    }
+  }
+
+  public HotSkuReport report() {
+    final long epoch = this.epoch();
+    final Map<String, Counter> merged = new HashMap<>();
+    long total = 0;
+
+    for (final var ring : this.rings) {
+      for (final var slice : ring) {
+        slice.lock.lock();
+        try {
+          if (!slice.isLive(epoch, this.slices)) {
+            continue;
+          }
+
+          total += slice.total;
+          slice.counters.forEach(
+              (sku, counter) -> merged.computeIfAbsent(sku, it -> new Counter()).add(counter));
+        } finally {
+          slice.lock.unlock();
+        }
+      }
+    }
+
+    final double seconds = this.windowSeconds();
+    final List<HotSkuReport.Sku> skus = new ArrayList<>(this.topK);
+    merged.entrySet().stream()
+        .sorted(Comparator.comparingLong(it -> -it.getValue().count))
+        .limit(this.topK)
+        .forEach(it -> skus.add(it.getValue().toSku(it.getKey(), seconds)));
+
+    return new HotSkuReport(
+        TimeUnit.NANOSECONDS.toMillis(this.sliceNanos * this.slices), total, total / seconds, skus);
+  }
+
+  /** Count-min estimate for any sku, hot or not; never lower than the real count. */
+  public HotSkuReport.Estimate estimate(final String productSku) {
+    final long epoch = this.epoch();
+    long count = 0;
+
+    for (final var ring : this.rings) {
+      for (final var slice : ring) {
+        slice.lock.lock();
+        try {
+          if (slice.isLive(epoch, this.slices)) {
+            count += slice.estimate(productSku);
+          }
+        } finally {
+          slice.lock.unlock();
+        }
+      }
+    }
+
+    return new HotSkuReport.Estimate(productSku, count, count / this.windowSeconds());
+  }
+
+  /** The calling thread's slice of the current epoch, locked and cleared if it is an older one. */
+  private Slice current() {
+    final long epoch = this.epoch();
+    final var ring =
+        this.rings[(int) (Thread.currentThread().threadId() & (this.rings.length - 1))];
+    final var slice = ring[(int) (epoch % this.slices)];
+
+    slice.lock.lock();
+    slice.rotate(epoch);
+    return slice;
+  }
+
+  private static boolean isUntracked(final String productSku) {
+    return productSku == null || productSku.isBlank();
+  }
+
+  private long epoch() {
+    return (this.clock.getAsLong() - this.origin) / this.sliceNanos;
+  }
+
+  /** The configured window, or the time since start while the ring is still filling up. */
+  private double windowSeconds() {
+    final long window = this.sliceNanos * this.slices;
+    final long elapsed = Math.max(this.clock.getAsLong() - this.origin, this.sliceNanos);
+
+    return Math.min(window, elapsed) / 1e9;
+  }
+
+  private static final class Slice {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Counter> counters;
+    private final long[] sketch = new long[SKETCH_DEPTH * SKETCH_WIDTH];
+    private long epoch;
+    private long total;
+
+    private Slice(final int capacity) {
+      this.counters = HashMap.newHashMap(capacity);
+    }
+
+    private void rotate(final long epoch) {
+      if (this.epoch != epoch) {
+        this.epoch = epoch;
+        this.total = 0;
+        this.counters.clear();
+        Arrays.fill(this.sketch, 0);
+      }
+    }
+
+    private boolean isLive(final long epoch, final int slices) {
+      return this.total > 0 && epoch - this.epoch < slices;
+    }
+
+    /** Space-Saving: a new sku takes over the smallest counter and inherits its count as error. */
+    private Counter admit(final String productSku, final int capacity) {
+      var counter = this.counters.get(productSku);
+
+      if (counter == null) {
+        counter = new Counter();
+
+        if (this.counters.size() >= capacity) {
+          final var smallest = this.smallest();
+          this.counters.remove(smallest.getKey());
+          counter.count = smallest.getValue().count;
+          counter.error = smallest.getValue().count;
+        }
+        this.counters.put(productSku, counter);
+      }
+
+      counter.count++;
+      return counter;
+    }
+
+    private Map.Entry<String, Counter> smallest() {
+      Map.Entry<String, Counter> smallest = null;
+
+      for (final var entry : this.counters.entrySet()) {
+        if (smallest == null || entry.getValue().count < smallest.getValue().count) {
+          smallest = entry;
+        }
+      }
+      return smallest;
+    }
+
+    private void sketch(final String productSku) {
+      final int hash = productSku.hashCode();
+
+      for (int row = 0; row < SKETCH_DEPTH; row++) {
+        this.sketch[row * SKETCH_WIDTH + column(hash, row)]++;
+      }
+    }
+
+    private long estimate(final String productSku) {
+      final int hash = productSku.hashCode();
+      long estimate = Long.MAX_VALUE;
+
+      for (int row = 0; row < SKETCH_DEPTH; row++) {
+        estimate = Math.min(estimate, this.sketch[row * SKETCH_WIDTH + column(hash, row)]);
+      }
+      return estimate;
+    }
+
+    private static int column(final int hash, final int row) {
+      final int mixed = (hash ^ SKETCH_SEEDS[row]) * 0x9E3779B1;
+
+      return (mixed ^ (mixed >>> 16)) & (SKETCH_WIDTH - 1);
+    }
+  }
+
+  private static final class Counter {
+
+    private long count;
+    private long error;
+    private long reserved;
+    private long rejected;
+    private long failed;
+    private long replays;
+    private long elapsedNanos;
+    private long maxElapsedNanos;
+    private long lockWaits;
+    private long lockWaitNanos;
+    private long maxLockWaitNanos;
+
+    private void add(final Counter other) {
+      this.count += other.count;
+      this.error += other.error;
+      this.reserved += other.reserved;
+      this.rejected += other.rejected;
+      this.failed += other.failed;
+      this.replays += other.replays;
+      this.elapsedNanos += other.elapsedNanos;
+      this.maxElapsedNanos = Math.max(this.maxElapsedNanos, other.maxElapsedNanos);
+      this.lockWaits += other.lockWaits;
+      this.lockWaitNanos += other.lockWaitNanos;
+      this.maxLockWaitNanos = Math.max(this.maxLockWaitNanos, other.maxLockWaitNanos);
+    }
+
+    private HotSkuReport.Sku toSku(final String productSku, final double seconds) {
+      final long samples = this.count - this.error;
+
+      return new HotSkuReport.Sku(
+          productSku,
+          this.count,
+          this.error,
+          this.count / seconds,
+          this.reserved,
+          this.rejected,
+          this.failed,
+          this.replays,
+          samples == 0 ? 0 : millis(this.elapsedNanos) / samples,
+          millis(this.maxElapsedNanos),
+          this.lockWaits == 0 ? 0 : millis(this.lockWaitNanos) / this.lockWaits,
+          millis(this.maxLockWaitNanos));
+    }
+
+    private static double millis(final long nanos) {
+      return nanos / 1e6;
+    }
+  }
+}
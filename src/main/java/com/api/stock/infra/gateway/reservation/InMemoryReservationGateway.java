@@ -0,0 +1,241 @@
+package com.api.stock.infra.gateway.reservation;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.ReservationGateway;
+import com.api.stock.core.gateway.StockGateway;
+import com.api.stock.infra.persistence.entity.ReservationFlushEntity;
+import com.api.stock.infra.persistence.repository.ReservationFlushRepository;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps available quantities in lock-striped shards keyed by product sku and writes the netted
+ * deltas behind to the database. It assumes this instance is the only writer of the skus it
+ * reserves, so reserve-stock consumers must be sku-affine when more than one instance runs it.
+ *
+ * <p>Every flush records its id in the same transaction as the deltas it applies, and its journal
+ * segments carry that id, so segments left behind by a crash after the commit are not replayed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.stock.reservation.engine", havingValue = "in-memory")
+public class InMemoryReservationGateway implements ReservationGateway {
+
+  private final StockGateway stockGateway;
+  private final ReservationFlushRepository reservationFlushRepository;
+  private final TransactionOperations transactionOperations;
+  private final ReservationShard[] shards;
+  private final List<Path> unflushedSegments = new ArrayList<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  public InMemoryReservationGateway(
+      final StockGateway stockGateway,
+      final ReservationFlushRepository reservationFlushRepository,
+      final TransactionOperations transactionOperations,
+      @Value("${app.stock.reservation.in-memory.shards:64}") final int shards,
+      @Value("${app.stock.reservation.in-memory.journal-dir}") final String journalDirectory,
+      @Value("${app.stock.reservation.in-memory.journal-fsync:false}") final boolean fsync) {
+    this.stockGateway = stockGateway;
+    this.reservationFlushRepository = reservationFlushRepository;
+    this.transactionOperations = transactionOperations;
+
+    final var directory = Path.of(journalDirectory);
+    this.recover(directory);
+    this.shards =
+        IntStream.range(0, shards)
+            .mapToObj(
+                it -> new ReservationShard(new ReservationJournal(directory, "shard-" + it, fsync)))
+            .toArray(ReservationShard[]::new);
+  }
+
+  @Override
+  public boolean reserve(final String productSku, final int quantity) {
+    final var reserved = this.shardFor(productSku).reserve(productSku, quantity, this::load);
+
+    if (reserved) {
+      this.releaseOnRollback(productSku, quantity);
+    }
+
+    return reserved;
+  }
+
+  @Override
+  public List<Boolean> reserveAll(final String productSku, final List<Integer> quantities) {
+    final var shard = this.shardFor(productSku);
+    final var reserved =
+        quantities.stream().map(it -> shard.reserve(productSku, it, this::load)).toList();
+
+    int total = 0;
+    for (int i = 0; i < reserved.size(); i++) {
+      if (reserved.get(i)) {
+        total += quantities.get(i);
+      }
+    }
+    this.releaseOnRollback(productSku, total);
+
+    return reserved;
+  }
+
+  @Override
+  public boolean release(final String productSku, final int quantity) {
+    return this.shardFor(productSku).release(productSku, quantity, this::load);
+  }
+
+  @Override
+  public void evict(final String productSku) {
+    this.shardFor(productSku).evict(productSku);
+  }
+
+  @Override
+  public void refresh(final String productSku, final int availableQuantity) {
+    this.shardFor(productSku).refresh(productSku, availableQuantity);
+  }
+
+  @Scheduled(fixedDelayString = "${app.stock.reservation.in-memory.flush-interval-ms:200}")
+  public void flush() {
+    this.flushLock.lock();
+    try {
+      this.flushDeltas();
+    } finally {
+      this.flushLock.unlock();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    this.flushLock.lock();
+    try {
+      this.flushDeltas();
+
+      for (final var shard : this.shards) {
+        shard.close();
+      }
+    } finally {
+      this.flushLock.unlock();
+    }
+  }
+
+  private void flushDeltas() {
+    final Map<String, Integer> deltas = new HashMap<>();
+
+    for (final var shard : this.shards) {
+      shard.drain(deltas).ifPresent(this.unflushedSegments::add);
+    }
+
+    if (!deltas.isEmpty()) {
+      final var flushId = UUID.randomUUID().toString();
+      try {
+        this.unflushedSegments.replaceAll(it -> ReservationJournal.assign(it, flushId));
+        this.apply(flushId, deltas);
+      } catch (RuntimeException e) {
+        log.error(
+            "Failed to flush reservation deltas for skus={}, retrying later", deltas.keySet(), e);
+        deltas.forEach((productSku, delta) -> this.shardFor(productSku).restore(productSku, delta));
+        return;
+      }
+
+      ReservationJournal.delete(this.unflushedSegments);
+      this.unflushedSegments.clear();
+      this.forget(List.of(flushId));
+    }
+
+    for (final var shard : this.shards) {
+      shard.completeEvictions();
+    }
+  }
+
+  private void recover(final Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+
+    final var segments = ReservationJournal.segments(directory);
+    final var applied =
+        segments.stream()
+            .map(ReservationJournal::flushId)
+            .flatMap(Optional::stream)
+            .distinct()
+            .filter(this.reservationFlushRepository::existsById)
+            .toList();
+
+    final var flushId = UUID.randomUUID().toString();
+    final var unapplied =
+        segments.stream()
+            .filter(it -> ReservationJournal.flushId(it).filter(applied::contains).isEmpty())
+            .map(it -> ReservationJournal.assign(it, flushId))
+            .toList();
+    final var deltas = ReservationJournal.read(unapplied);
+
+    if (!deltas.isEmpty()) {
+      log.warn("Replaying unflushed reservation deltas for skus={}", deltas.keySet());
+      this.apply(flushId, deltas);
+    }
+
+    ReservationJournal.delete(ReservationJournal.segments(directory));
+    this.forget(applied);
+    this.forget(List.of(flushId));
+  }
+
+  private void apply(final String flushId, final Map<String, Integer> deltas) {
+    this.transactionOperations.executeWithoutResult(
+        status -> {
+          this.stockGateway.adjustAvailableQuantities(deltas);
+          this.reservationFlushRepository.save(
+              ReservationFlushEntity.builder().flushId(flushId).build());
+        });
+  }
+
+  /** Ids are only needed while their segments exist; a failure here leaves a harmless row. */
+  private void forget(final List<String> flushIds) {
+    try {
+      this.reservationFlushRepository.deleteAllById(flushIds);
+    } catch (RuntimeException e) {
+      log.warn("Failed to delete reservation flush records={}", flushIds, e);
+    }
+  }
+
+  /**
+   * The shard is not part of the database transaction, so a reservation whose ledger row and
+   * outcome event are rolled back gives its quantity back here; a redelivery would take it again.
+   */
+  private void releaseOnRollback(final String productSku, final int quantity) {
+    if (quantity <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(final int status) {
+            if (status == STATUS_ROLLED_BACK) {
+              release(productSku, quantity);
+            }
+          }
+        });
+  }
+
+  private Optional<Integer> load(final String productSku) {
+    return this.stockGateway.findByProductSku(productSku).map(Stock::getAvailableQuantity);
+  }
+
+  private ReservationShard shardFor(final String productSku) {
+    return this.shards[Math.floorMod(productSku.hashCode(), this.shards.length)];
+  }
+}
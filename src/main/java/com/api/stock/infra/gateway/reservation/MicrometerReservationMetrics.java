@@ -0,0 +1,83 @@
+package com.api.stock.infra.gateway.reservation;
+
+import com.api.stock.core.domain.ReservationOutcome;
+import com.api.stock.core.gateway.ReservationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reservation latency per outcome and the number of reservations in flight. Tags are limited to the
+ * outcome, so the series count does not grow with the catalog; per-sku figures go to the {@link
+ * HotSkuTracker} when it is enabled. These calls run in the finally blocks of reservations, so a
+ * failure to track a sku is logged and never replaces the reservation's own outcome.
+ */
+@Slf4j
+@Component
+public class MicrometerReservationMetrics implements ReservationMetrics {
+
+  private static final String METRIC_NAME = "stock.reservation";
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Map<ReservationOutcome, Timer> timers = new EnumMap<>(ReservationOutcome.class);
+  private final HotSkuTracker hotSkuTracker;
+
+  public MicrometerReservationMetrics(
+      final ObjectProvider<MeterRegistry> meterRegistry,
+      final ObjectProvider<HotSkuTracker> hotSkuTracker) {
+    final var registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    this.hotSkuTracker = hotSkuTracker.getIfAvailable();
+
+    registry.gauge(METRIC_NAME + ".in.flight", this.inFlight);
+    for (final var outcome : ReservationOutcome.values()) {
+      this.timers.put(
+          outcome,
+          Timer.builder(METRIC_NAME)
+              .tag("outcome", outcome.name().toLowerCase())
+              .register(registry));
+    }
+  }
+
+  @Override
+  public void started(final int reservations) {
+    this.inFlight.addAndGet(reservations);
+  }
+
+  @Override
+  public void finished(
+      final String productSku, final ReservationOutcome outcome, final long elapsedNanos) {
+    this.inFlight.decrementAndGet();
+    this.timers.get(outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    this.track(it -> it.reserved(productSku, outcome, elapsedNanos));
+  }
+
+  @Override
+  public void stockUpdated(final String productSku, final long elapsedNanos) {
+    this.track(it -> it.stockUpdated(productSku, elapsedNanos));
+  }
+
+  @Override
+  public void replayed(final String productSku) {
+    this.track(it -> it.replayed(productSku));
+  }
+
+  private void track(final Consumer<HotSkuTracker> call) {
+    if (this.hotSkuTracker == null) {
+      return;
+    }
+
+    try {
+      call.accept(this.hotSkuTracker);
+    } catch (RuntimeException e) {
+      log.warn("Failed to track hot sku", e);
+    }
+  }
+}
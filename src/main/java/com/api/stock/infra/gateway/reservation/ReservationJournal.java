@@ -0,0 +1,176 @@
+package com.api.stock.infra.gateway.reservation;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.api.stock.infra.gateway.exception.GatewayException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of the reservation deltas of one shard. Every delta is written here before it is
+ * applied in memory, so deltas that were not flushed to the database yet can be replayed after a
+ * crash. A rotated segment is renamed with the id of the flush that applies it before that flush
+ * commits, so a segment whose flush is already recorded is not replayed a second time.
+ */
+final class ReservationJournal {
+
+  private static final String ACTIVE_SUFFIX = ".log";
+  private static final String ROTATED_SUFFIX = ".flushing";
+  private static final String FLUSH_ID_SEPARATOR = ".";
+  private static final String SEPARATOR = "\t";
+  private static final String OPEN_ERROR_MESSAGE = "Error opening reservation journal=[%s].";
+  private static final String APPEND_ERROR_MESSAGE = "Error journaling reservation for sku=[%s].";
+  private static final String ROTATE_ERROR_MESSAGE = "Error rotating reservation journal=[%s].";
+  private static final String REPLAY_ERROR_MESSAGE = "Error replaying reservation journal=[%s].";
+  private static final String ASSIGN_ERROR_MESSAGE =
+      "Error assigning flush=[%s] to reservation journal=[%s].";
+
+  private final Path directory;
+  private final String name;
+  private final boolean fsync;
+  private FileChannel channel;
+  private long rotations;
+
+  ReservationJournal(final Path directory, final String name, final boolean fsync) {
+    this.directory = directory;
+    this.name = name;
+    this.fsync = fsync;
+    this.channel = this.open();
+  }
+
+  void append(final String productSku, final int delta) {
+    try {
+      this.channel.write(ByteBuffer.wrap((productSku + SEPARATOR + delta + "\n").getBytes(UTF_8)));
+
+      if (this.fsync) {
+        this.channel.force(false);
+      }
+    } catch (IOException e) {
+      throw new GatewayException(format(APPEND_ERROR_MESSAGE, productSku));
+    }
+  }
+
+  Path rotate() {
+    try {
+      this.channel.close();
+
+      final var rotated =
+          Files.move(
+              this.directory.resolve(this.name + ACTIVE_SUFFIX),
+              this.directory.resolve(this.name + "-" + ++this.rotations + ROTATED_SUFFIX),
+              StandardCopyOption.ATOMIC_MOVE);
+
+      this.channel = this.open();
+
+      return rotated;
+    } catch (IOException e) {
+      throw new GatewayException(format(ROTATE_ERROR_MESSAGE, this.name));
+    }
+  }
+
+  void close() {
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      throw new GatewayException(format(ROTATE_ERROR_MESSAGE, this.name));
+    }
+  }
+
+  static List<Path> segments(final Path directory) {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(
+              it -> it.toString().endsWith(ACTIVE_SUFFIX) || it.toString().endsWith(ROTATED_SUFFIX))
+          .toList();
+    } catch (IOException e) {
+      throw new GatewayException(format(REPLAY_ERROR_MESSAGE, directory));
+    }
+  }
+
+  static Path assign(final Path segment, final String flushId) {
+    try {
+      return Files.move(
+          segment,
+          segment.resolveSibling(baseName(segment) + FLUSH_ID_SEPARATOR + flushId + ROTATED_SUFFIX),
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new GatewayException(format(ASSIGN_ERROR_MESSAGE, flushId, segment));
+    }
+  }
+
+  static Optional<String> flushId(final Path segment) {
+    final var fileName = segment.getFileName().toString();
+
+    if (!fileName.endsWith(ROTATED_SUFFIX)) {
+      return Optional.empty();
+    }
+
+    final var stem = fileName.substring(0, fileName.length() - ROTATED_SUFFIX.length());
+    final var separator = stem.indexOf(FLUSH_ID_SEPARATOR);
+
+    return separator < 0 ? Optional.empty() : Optional.of(stem.substring(separator + 1));
+  }
+
+  static Map<String, Integer> read(final List<Path> segments) {
+    final Map<String, Integer> deltas = new HashMap<>();
+
+    for (final var segment : segments) {
+      try (Stream<String> lines = Files.lines(segment, UTF_8)) {
+        lines
+            .map(it -> it.split(SEPARATOR))
+            .filter(it -> it.length == 2)
+            .forEach(it -> deltas.merge(it[0], Integer.parseInt(it[1]), Integer::sum));
+      } catch (IOException | NumberFormatException e) {
+        throw new GatewayException(format(REPLAY_ERROR_MESSAGE, segment));
+      }
+    }
+
+    deltas.values().removeIf(it -> it == 0);
+
+    return deltas;
+  }
+
+  static void delete(final List<Path> segments) {
+    for (final var segment : segments) {
+      try {
+        Files.deleteIfExists(segment);
+      } catch (IOException e) {
+        throw new GatewayException(format(ROTATE_ERROR_MESSAGE, segment));
+      }
+    }
+  }
+
+  private static String baseName(final Path segment) {
+    final var fileName = segment.getFileName().toString();
+    final var suffix = fileName.endsWith(ACTIVE_SUFFIX) ? ACTIVE_SUFFIX : ROTATED_SUFFIX;
+    final var stem = fileName.substring(0, fileName.length() - suffix.length());
+    final var separator = stem.indexOf(FLUSH_ID_SEPARATOR);
+
+    return separator < 0 ? stem : stem.substring(0, separator);
+  }
+
+  private FileChannel open() {
+    try {
+      Files.createDirectories(this.directory);
+
+      return FileChannel.open(
+          this.directory.resolve(this.name + ACTIVE_SUFFIX),
+          StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new GatewayException(format(OPEN_ERROR_MESSAGE, this.name));
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.api.stock.infra.gateway.reservation;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+final class ReservationShard {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<String, Integer> available = new HashMap<>();
+  private final Map<String, Integer> pending = new HashMap<>();
+  private final Set<String> evictions = new HashSet<>();
+  private final ReservationJournal journal;
+
+  ReservationShard(final ReservationJournal journal) {
+    this.journal = journal;
+  }
+
+  boolean reserve(
+      final String productSku,
+      final int quantity,
+      final Function<String, Optional<Integer>> loader) {
+    if (quantity <= 0) {
+      return false;
+    }
+
+    this.lock.lock();
+    try {
+      final var current = this.current(productSku, loader);
+
+      if (current == null || current < quantity) {
+        return false;
+      }
+
+      this.apply(productSku, -quantity, current);
+
+      return true;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  boolean release(
+      final String productSku,
+      final int quantity,
+      final Function<String, Optional<Integer>> loader) {
+    if (quantity <= 0) {
+      return false;
+    }
+
+    this.lock.lock();
+    try {
+      final var current = this.current(productSku, loader);
+
+      if (current == null) {
+        return false;
+      }
+
+      this.apply(productSku, quantity, current);
+
+      return true;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  void evict(final String productSku) {
+    this.lock.lock();
+    try {
+      this.evictions.add(productSku);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Unflushed deltas are still added to the database by the next flush, so they are applied on top
+   * of the new quantity here too. The sku is reloaded after that flush in case a flush that was
+   * already in progress landed after the write.
+   */
+  void refresh(final String productSku, final int availableQuantity) {
+    this.lock.lock();
+    try {
+      if (this.available.containsKey(productSku)) {
+        this.available.put(
+            productSku, availableQuantity + this.pending.getOrDefault(productSku, 0));
+      }
+
+      this.evictions.add(productSku);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  Optional<Path> drain(final Map<String, Integer> deltas) {
+    this.lock.lock();
+    try {
+      if (this.pending.isEmpty()) {
+        return Optional.empty();
+      }
+
+      deltas.putAll(this.pending);
+      this.pending.clear();
+
+      return Optional.of(this.journal.rotate());
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  void restore(final String productSku, final int delta) {
+    this.lock.lock();
+    try {
+      this.pending.merge(productSku, delta, ReservationShard::net);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  void completeEvictions() {
+    this.lock.lock();
+    try {
+      this.evictions.removeIf(
+          productSku -> {
+            if (this.pending.containsKey(productSku)) {
+              return false;
+            }
+
+            this.available.remove(productSku);
+            return true;
+          });
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  void close() {
+    this.lock.lock();
+    try {
+      this.journal.close();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private Integer current(
+      final String productSku, final Function<String, Optional<Integer>> loader) {
+    var current = this.available.get(productSku);
+
+    if (current == null) {
+      current = loader.apply(productSku).orElse(null);
+
+      if (current != null) {
+        this.available.put(productSku, current);
+      }
+    }
+
+    return current;
+  }
+
+  private void apply(final String productSku, final int delta, final int current) {
+    this.journal.append(productSku, delta);
+    this.available.put(productSku, current + delta);
+    this.pending.merge(productSku, delta, ReservationShard::net);
+  }
+
+  private static Integer net(final Integer previous, final Integer delta) {
+    final var netted = previous + delta;
+
+    return netted == 0 ? null : netted;
+  }
+}
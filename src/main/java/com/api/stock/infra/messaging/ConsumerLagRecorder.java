@@ -0,0 +1,72 @@
+package com.api.stock.infra.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records, per queue, how long a message waited between being published and being received. The
+ * AMQP timestamp property only carries whole seconds, so the publish time is read in epoch millis
+ * from the {@value #PUBLISHED_AT_HEADER} header, which the template stamps on every message it
+ * sends. Messages without it fall back to the timestamp property; those with neither are skipped.
+ */
+@Component
+public class ConsumerLagRecorder implements MessagePostProcessor {
+
+  public static final String PUBLISHED_AT_HEADER = "x-published-at";
+
+  private static final String METRIC_NAME = "rabbitmq.consumer.lag";
+  private static final String UNKNOWN_QUEUE = "unknown";
+
+  private final MeterRegistry registry;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public ConsumerLagRecorder(final ObjectProvider<MeterRegistry> meterRegistry) {
+    this.registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+  }
+
+  @Override
+  public Message postProcessMessage(final Message message) {
+    final var properties = message.getMessageProperties();
+    final var publishedAt = publishedAt(properties);
+
+    if (publishedAt != null) {
+      final var queue = Objects.requireNonNullElse(properties.getConsumerQueue(), UNKNOWN_QUEUE);
+
+      this.timers
+          .computeIfAbsent(
+              queue, it -> Timer.builder(METRIC_NAME).tag("queue", it).register(this.registry))
+          .record(
+              Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+    }
+
+    return message;
+  }
+
+  private static Long publishedAt(final MessageProperties properties) {
+    final Object header = properties.getHeader(PUBLISHED_AT_HEADER);
+
+    if (header instanceof Number millis) {
+      return millis.longValue();
+    }
+    if (header != null) {
+      try {
+        return Long.parseLong(header.toString());
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    final var timestamp = properties.getTimestamp();
+    return timestamp != null ? timestamp.getTime() : null;
+  }
+}
@@ -0,0 +1,68 @@
+package com.api.stock.infra.messaging;
+
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the trace across the hops where an event leaves the thread that produced it, the
+ * publisher buffer and the outbox. The context is captured as propagation headers when the event is
+ * published and restored around the send in a span that starts when the event was queued, so the
+ * RabbitTemplate observation continues the trace of the reservation and the wait shows up in it.
+ */
+@Component
+public class MessageTracing {
+
+  private final Tracer tracer;
+  private final Propagator propagator;
+
+  public MessageTracing(
+      final ObjectProvider<Tracer> tracer, final ObjectProvider<Propagator> propagator) {
+    this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+  }
+
+  public Map<String, String> capture() {
+    final var context = this.tracer.currentTraceContext().context();
+
+    if (context == null) {
+      return Map.of();
+    }
+
+    final Map<String, String> headers = new HashMap<>();
+    this.propagator.inject(context, headers, Map::put);
+
+    return headers;
+  }
+
+  public void send(
+      final Map<String, String> context,
+      final String name,
+      final long queuedAtMillis,
+      final Runnable send) {
+    if (context == null || context.isEmpty()) {
+      send.run();
+      return;
+    }
+
+    final var span =
+        this.propagator
+            .extract(context, Map::get)
+            .name(name)
+            .startTimestamp(queuedAtMillis, TimeUnit.MILLISECONDS)
+            .start();
+
+    try (var ignored = this.tracer.withSpan(span)) {
+      send.run();
+    } catch (RuntimeException e) {
+      span.error(e);
+      throw e;
+    } finally {
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.api.stock.infra.messaging;
+
+import static java.lang.String.format;
+
+import com.api.stock.event.ReleaseStockEvent;
+import com.api.stock.event.ReserveStockEvent;
+import com.api.stock.event.StockReservedEvent;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Picks the encoding by content type: messages of {@link #CONTENT_TYPE} are decoded with a compact
+ * fixed-layout codec, anything else goes through Jackson, so JSON producers keep working. Outgoing
+ * stock events are written in the binary layout only when {@code binary} is enabled.
+ *
+ * <p>Layout: format version and event tag bytes, then the record components in declaration order;
+ * strings are a signed short length ({@code -1} for null) followed by UTF-8 bytes.
+ */
+public class StockEventMessageConverter implements MessageConverter {
+
+  public static final String CONTENT_TYPE = "application/x-stock-event";
+
+  private static final byte FORMAT_VERSION = 1;
+  private static final byte RESERVE_STOCK = 1;
+  private static final byte RELEASE_STOCK = 2;
+  private static final byte STOCK_RESERVED = 3;
+
+  private static final String UNSUPPORTED_VERSION_MESSAGE = "Unsupported stock event version: %d";
+  private static final String UNSUPPORTED_EVENT_MESSAGE = "Unsupported stock event type: %s";
+  private static final String UNKNOWN_EVENT_MESSAGE = "Unknown stock event tag: %d";
+  private static final String MALFORMED_MESSAGE = "Malformed stock event message.";
+  private static final String STRING_TOO_LONG_MESSAGE = "String too long for stock event: %d bytes";
+
+  private final Jackson2JsonMessageConverter jsonMessageConverter;
+  private final boolean binary;
+
+  public StockEventMessageConverter(
+      final Jackson2JsonMessageConverter jsonMessageConverter, final boolean binary) {
+    this.jsonMessageConverter = jsonMessageConverter;
+    this.binary = binary;
+  }
+
+  @Override
+  public Message toMessage(final Object object, final MessageProperties messageProperties) {
+    if (!this.binary || !isStockEvent(object)) {
+      return this.jsonMessageConverter.toMessage(object, messageProperties);
+    }
+
+    final var body = encode(object);
+    messageProperties.setContentType(CONTENT_TYPE);
+    messageProperties.setContentLength(body.length);
+
+    return new Message(body, messageProperties);
+  }
+
+  @Override
+  public Object fromMessage(final Message message) {
+    if (CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+      return decode(message.getBody());
+    }
+
+    return this.jsonMessageConverter.fromMessage(message);
+  }
+
+  private static boolean isStockEvent(final Object object) {
+    return object instanceof ReserveStockEvent
+        || object instanceof ReleaseStockEvent
+        || object instanceof StockReservedEvent;
+  }
+
+  private static byte[] encode(final Object event) {
+    return switch (event) {
+      case ReserveStockEvent it -> {
+        final var orderId = utf8(it.orderId());
+        final var productSku = utf8(it.productSku());
+
+        yield header(RESERVE_STOCK, size(orderId) + size(productSku) + Integer.BYTES)
+            .put(orderId, productSku)
+            .putInt(it.quantity())
+            .array();
+      }
+      case ReleaseStockEvent it -> {
+        final var orderId = utf8(it.orderId());
+        final var productSku = utf8(it.productSku());
+
+        yield header(RELEASE_STOCK, size(orderId) + size(productSku) + Integer.BYTES)
+            .put(orderId, productSku)
+            .putInt(it.quantity())
+            .array();
+      }
+      case StockReservedEvent it -> {
+        final var eventId = utf8(it.eventId());
+        final var orderId = utf8(it.orderId());
+
+        yield header(STOCK_RESERVED, size(eventId) + Integer.BYTES + size(orderId) + 1)
+            .put(eventId)
+            .putInt(it.version())
+            .put(orderId)
+            .putBoolean(it.success())
+            .array();
+      }
+      default ->
+          throw new MessageConversionException(
+              format(UNSUPPORTED_EVENT_MESSAGE, event.getClass().getName()));
+    };
+  }
+
+  private static Object decode(final byte[] body) {
+    final var buffer = ByteBuffer.wrap(body);
+
+    try {
+      final var version = buffer.get();
+      if (version != FORMAT_VERSION) {
+        throw new MessageConversionException(format(UNSUPPORTED_VERSION_MESSAGE, version));
+      }
+
+      final var tag = buffer.get();
+      return switch (tag) {
+        case RESERVE_STOCK ->
+            new ReserveStockEvent(string(buffer), string(buffer), buffer.getInt());
+        case RELEASE_STOCK ->
+            new ReleaseStockEvent(string(buffer), string(buffer), buffer.getInt());
+        case STOCK_RESERVED ->
+            new StockReservedEvent(
+                string(buffer), buffer.getInt(), string(buffer), buffer.get() != 0);
+        default -> throw new MessageConversionException(format(UNKNOWN_EVENT_MESSAGE, tag));
+      };
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new MessageConversionException(MALFORMED_MESSAGE, e);
+    }
+  }
+
+  private static Writer header(final byte tag, final int size) {
+    return new Writer(ByteBuffer.allocate(2 + size).put(FORMAT_VERSION).put(tag));
+  }
+
+  private static byte[] utf8(final String value) {
+    if (value == null) {
+      return null;
+    }
+
+    final var bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > Short.MAX_VALUE) {
+      throw new MessageConversionException(format(STRING_TOO_LONG_MESSAGE, bytes.length));
+    }
+
+    return bytes;
+  }
+
+  private static int size(final byte[] value) {
+    return Short.BYTES + (value == null ? 0 : value.length);
+  }
+
+  private static String string(final ByteBuffer buffer) {
+    final var length = buffer.getShort();
+    if (length < 0) {
+      return null;
+    }
+
+    final var value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+    buffer.position(buffer.position() + length);
+
+    return value;
+  }
+
+  private record Writer(ByteBuffer buffer) {
+
+    Writer put(final byte[]... values) {
+      for (final var value : values) {
+        if (value == null) {
+          this.buffer.putShort((short) -1);
+        } else {
+          this.buffer.putShort((short) value.length).put(value);
+        }
+      }
+      return this;
+    }
+
+    Writer putInt(final int value) {
+      this.buffer.putInt(value);
+      return this;
+    }
+
+    Writer putBoolean(final boolean value) {
+      this.buffer.put((byte) (value ? 1 : 0));
+      return this;
+    }
+
+    byte[] array() {
+      return this.buffer.array();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.api.stock.infra.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+@Entity
+@Table(
+    name = "outbox_event",
+    indexes = @Index(name = "idx_outbox_event_key", columnList = "aggregate_key, id"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxEventEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+  @SequenceGenerator(
+      name = "outbox_event_seq",
+      sequenceName = "outbox_event_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "aggregate_key")
+  private String aggregateKey;
+
+  @Column(name = "exchange", nullable = false)
+  private String exchange;
+
+  @Column(name = "routing_key", nullable = false)
+  private String routingKey;
+
+  @Column(name = "event_type", nullable = false)
+  private String eventType;
+
+  @Column(name = "payload", nullable = false, length = 4000)
+  private String payload;
+
+  @Column(name = "trace_context", length = 512)
+  private String traceContext;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+}
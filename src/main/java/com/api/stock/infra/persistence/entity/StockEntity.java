@@ -1,10 +1,12 @@
 package com.api.stock.infra.persistence.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "stock")
+@Table(name = "stock", indexes = @Index(name = "idx_stock_updated_at", columnList = "updated_at"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -13,7 +15,8 @@ import lombok.*;
 public class StockEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_seq")
+  @SequenceGenerator(name = "stock_seq", sequenceName = "stock_seq", allocationSize = 50)
   private Integer id;
 
   @Column(name = "product_sku", nullable = false, unique = true)
@@ -21,4 +24,12 @@ public class StockEntity {
 
   @Column(name = "available_quantity", nullable = false)
   private Integer availableQuantity;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
 }
@@ -0,0 +1,48 @@
+package com.api.stock.infra.persistence.entity;
+
+import com.api.stock.core.domain.ReservationState;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+@Entity
+@Table(
+    name = "stock_reservation",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_stock_reservation_order_sku",
+            columnNames = {"order_id", "product_sku"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservationEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "order_id", nullable = false)
+  private String orderId;
+
+  @Column(name = "product_sku", nullable = false)
+  private String productSku;
+
+  @Column(name = "quantity", nullable = false)
+  private Integer quantity;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "state", nullable = false)
+  private ReservationState state;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
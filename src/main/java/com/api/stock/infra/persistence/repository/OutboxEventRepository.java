@@ -0,0 +1,30 @@
+package com.api.stock.infra.persistence.repository;
+
+import com.api.stock.infra.persistence.entity.OutboxEventEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+  /** Hibernate renders this timeout as SKIP LOCKED where the dialect supports it (MySQL 8). */
+  String SKIP_LOCKED = "-2";
+
+  /**
+   * Oldest pending event of each key, locked for the caller. Later events of a key wait until the
+   * earlier one is relayed, so a key is never published out of order by concurrent relays.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+  @Query(
+      "SELECT o FROM OutboxEventEntity o WHERE NOT EXISTS ("
+          + "SELECT 1 FROM OutboxEventEntity p"
+          + " WHERE p.aggregateKey = o.aggregateKey AND p.id < o.id)"
+          + " ORDER BY o.id")
+  List<OutboxEventEntity> findNextBatch(final Limit limit);
+}
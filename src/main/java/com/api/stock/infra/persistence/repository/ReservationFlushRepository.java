@@ -0,0 +1,6 @@
+package com.api.stock.infra.persistence.repository;
+
+import com.api.stock.infra.persistence.entity.ReservationFlushEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReservationFlushRepository extends JpaRepository<ReservationFlushEntity, String> {}
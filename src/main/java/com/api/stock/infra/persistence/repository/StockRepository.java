@@ -1,12 +1,98 @@
 package com.api.stock.infra.persistence.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import com.api.stock.core.domain.Stock;
 import com.api.stock.infra.persistence.entity.StockEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface StockRepository extends JpaRepository<StockEntity, Integer> {
 
+  String EXPORT_FETCH_SIZE = "1000";
+
   Optional<StockEntity> findByProductSku(final String productSku);
 
+  List<StockEntity> findByProductSkuIn(final Collection<String> productSkus);
+
   void deleteByProductSku(final String productSku);
+
+  @Query(
+      "SELECT s FROM StockEntity s"
+          + " WHERE (:quantityBelow IS NULL OR s.availableQuantity < :quantityBelow)"
+          + " ORDER BY s.productSku")
+  List<StockEntity> findFirstPage(
+      @Param("quantityBelow") final Integer quantityBelow, final Limit limit);
+
+  @Query(
+      "SELECT s FROM StockEntity s WHERE s.productSku > :after"
+          + " AND (:quantityBelow IS NULL OR s.availableQuantity < :quantityBelow)"
+          + " ORDER BY s.productSku")
+  List<StockEntity> findPageAfter(
+      @Param("after") final String after,
+      @Param("quantityBelow") final Integer quantityBelow,
+      final Limit limit);
+
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.api.stock.core.domain.Stock(s.id, s.productSku, s.availableQuantity,"
+          + " s.version) FROM StockEntity s ORDER BY s.id")
+  Stream<Stock> streamAll();
+
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.api.stock.core.domain.Stock(s.id, s.productSku, s.availableQuantity,"
+          + " s.version) FROM StockEntity s WHERE s.updatedAt >= :updatedSince ORDER BY s.id")
+  Stream<Stock> streamUpdatedSince(@Param("updatedSince") final LocalDateTime updatedSince);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM StockEntity s WHERE s.productSku = :productSku")
+  Optional<StockEntity> findForUpdateByProductSku(@Param("productSku") final String productSku);
+
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE StockEntity s SET s.availableQuantity = s.availableQuantity - :quantity,"
+          + " s.version = s.version + 1, s.updatedAt = LOCAL DATETIME"
+          + " WHERE s.productSku = :productSku AND s.availableQuantity >= :quantity")
+  int decreaseAvailableQuantity(
+      @Param("productSku") final String productSku, @Param("quantity") final int quantity);
+
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE StockEntity s SET s.availableQuantity = s.availableQuantity + :quantity,"
+          + " s.version = s.version + 1, s.updatedAt = LOCAL DATETIME"
+          + " WHERE s.productSku = :productSku")
+  int increaseAvailableQuantity(
+      @Param("productSku") final String productSku, @Param("quantity") final int quantity);
+
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE StockEntity s SET s.availableQuantity = s.availableQuantity + :delta,"
+          + " s.version = s.version + 1, s.updatedAt = LOCAL DATETIME"
+          + " WHERE s.productSku = :productSku")
+  int adjustAvailableQuantity(
+      @Param("productSku") final String productSku, @Param("delta") final int delta);
 }
@@ -0,0 +1,33 @@
+package com.api.stock.infra.persistence.repository;
+
+import com.api.stock.core.domain.ReservationState;
+import com.api.stock.infra.persistence.entity.StockReservationEntity;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface StockReservationRepository extends JpaRepository<StockReservationEntity, Long> {
+
+  Optional<StockReservationEntity> findByOrderIdAndProductSku(
+      final String orderId, final String productSku);
+
+  List<StockReservationEntity> findByProductSkuAndOrderIdIn(
+      final String productSku, final Collection<String> orderIds);
+
+  List<StockReservationEntity> findByOrderId(final String orderId);
+
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      "UPDATE StockReservationEntity r SET r.state = :to, r.updatedAt = LOCAL DATETIME"
+          + " WHERE r.id = :id AND r.state = :from")
+  int updateState(
+      @Param("id") final Long id,
+      @Param("from") final ReservationState from,
+      @Param("to") final ReservationState to);
+}
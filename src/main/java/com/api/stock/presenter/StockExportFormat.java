@@ -0,0 +1,20 @@
+package com.api.stock.presenter;
+
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockExportFormat {
+  NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+  CSV(MediaType.parseMediaType("text/csv"));
+
+  private final MediaType mediaType;
+
+  public static Optional<StockExportFormat> from(final String format) {
+    return Arrays.stream(values()).filter(it -> it.name().equalsIgnoreCase(format)).findFirst();
+  }
+}
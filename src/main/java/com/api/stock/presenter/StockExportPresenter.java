@@ -0,0 +1,67 @@
+package com.api.stock.presenter;
+
+import com.api.stock.core.domain.Stock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class StockExportPresenter {
+
+  private static final String CSV_HEADER = "id,productSku,quantity";
+
+  private final StockPresenter presenter;
+  private final ObjectMapper objectMapper;
+
+  public void writeHeader(final Writer writer, final StockExportFormat format) throws IOException {
+    if (format == StockExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write('\n');
+    }
+  }
+
+  public void write(final Writer writer, final StockExportFormat format, final Stock stock) {
+    try {
+      if (format == StockExportFormat.CSV) {
+        writer.write(String.valueOf(stock.getId()));
+        writer.write(',');
+        writeCsvField(writer, stock.getProductSku());
+        writer.write(',');
+        writer.write(String.valueOf(stock.getAvailableQuantity()));
+      } else {
+        writer.write(this.objectMapper.writeValueAsString(this.presenter.parseToResponse(stock)));
+      }
+
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** RFC 4180: a field holding a delimiter, quote or line break is quoted, quotes are doubled. */
+  private static void writeCsvField(final Writer writer, final String value) throws IOException {
+    if (!needsQuotes(value)) {
+      writer.write(value);
+      return;
+    }
+
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  private static boolean needsQuotes(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
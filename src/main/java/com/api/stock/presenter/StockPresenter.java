@@ -1,6 +1,14 @@
 package com.api.stock.presenter;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockCreationDto;
+import com.api.stock.core.dto.StockImportResultDto;
+import com.api.stock.core.dto.StockLookupDto;
+import com.api.stock.core.dto.StockPageDto;
+import com.api.stock.presenter.response.StockCreationPresenterResponse;
+import com.api.stock.presenter.response.StockImportPresenterResponse;
+import com.api.stock.presenter.response.StockLookupPresenterResponse;
+import com.api.stock.presenter.response.StockPagePresenterResponse;
 import com.api.stock.presenter.response.StockPresenterResponse;
 import org.springframework.stereotype.Component;
 
@@ -14,4 +22,38 @@ public class StockPresenter {
         .quantity(stock.getAvailableQuantity())
         .build();
   }
+
+  public StockCreationPresenterResponse parseToCreationResponse(final StockCreationDto creation) {
+    final var stock = creation.stock();
+
+    return StockCreationPresenterResponse.builder()
+        .productSku(creation.productSku())
+        .id(stock != null ? stock.getId() : null)
+        .quantity(stock != null ? stock.getAvailableQuantity() : null)
+        .errorCode(creation.errorCode())
+        .errorMessage(creation.errorMessage())
+        .build();
+  }
+
+  public StockLookupPresenterResponse parseToLookupResponse(final StockLookupDto lookup) {
+    return StockLookupPresenterResponse.builder()
+        .stocks(lookup.stocks().stream().map(this::parseToResponse).toList())
+        .missingSkus(lookup.missingSkus())
+        .build();
+  }
+
+  public StockPagePresenterResponse parseToPageResponse(final StockPageDto page) {
+    return StockPagePresenterResponse.builder()
+        .stocks(page.stocks().stream().map(this::parseToResponse).toList())
+        .nextAfter(page.nextAfter())
+        .build();
+  }
+
+  public StockImportPresenterResponse parseToImportResponse(final StockImportResultDto result) {
+    return StockImportPresenterResponse.builder()
+        .imported(result.imported())
+        .failed(result.failed())
+        .errors(result.errors())
+        .build();
+  }
 }
@@ -0,0 +1,9 @@
+package com.api.stock.presenter.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StockCreationPresenterResponse(
+    String productSku, Integer id, Integer quantity, String errorCode, String errorMessage) {}
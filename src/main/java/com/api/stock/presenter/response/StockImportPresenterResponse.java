@@ -0,0 +1,9 @@
+package com.api.stock.presenter.response;
+
+import com.api.stock.core.dto.StockImportErrorDto;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record StockImportPresenterResponse(
+    long imported, long failed, List<StockImportErrorDto> errors) {}
@@ -0,0 +1,8 @@
+package com.api.stock.presenter.response;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record StockLookupPresenterResponse(
+    List<StockPresenterResponse> stocks, List<String> missingSkus) {}
@@ -0,0 +1,7 @@
+package com.api.stock.presenter.response;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record StockPagePresenterResponse(List<StockPresenterResponse> stocks, String nextAfter) {}
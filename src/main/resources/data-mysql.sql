@@ -0,0 +1,5 @@
+-- Hibernate emulates stock_seq with a table on MySQL. A table created by ddl-auto=update next to an
+-- existing stock table starts at 1, so it is moved past max(stock.id) on every start. The + 50 is
+-- the allocationSize of StockEntity: the pooled optimizer hands out (next_val - 49)..next_val.
+INSERT INTO stock_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM stock_seq);
+UPDATE stock_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM stock));
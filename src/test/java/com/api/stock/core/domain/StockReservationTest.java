@@ -0,0 +1,53 @@
+package com.api.stock.core.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.stock.core.domain.exception.DomainException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StockReservationTest {
+
+  @Test
+  void shouldCreateReservationSuccessfully() {
+    final var reservation = StockReservation.createReservation("order-123", "BOLA-123-ABC", 2);
+
+    assertThat(reservation.getOrderId()).isEqualTo("order-123");
+    assertThat(reservation.getProductSku()).isEqualTo("BOLA-123-ABC");
+    assertThat(reservation.getQuantity()).isEqualTo(2);
+    assertThat(reservation.isReserved()).isTrue();
+  }
+
+  @Test
+  void shouldKeepTrackOfReservationOutcome() {
+    final var rejected = StockReservation.createReservation("order-123", "BOLA-123-ABC", 2);
+    rejected.reject();
+    final var released = StockReservation.createReservation("order-123", "BOLA-123-ABC", 2);
+    released.release();
+
+    assertThat(rejected.wasReserved()).isFalse();
+    assertThat(released.wasReserved()).isTrue();
+    assertThat(released.isReserved()).isFalse();
+  }
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(strings = {" "})
+  void shouldNotCreateReservationWithInvalidOrderId(final String orderId) {
+    assertThatThrownBy(() -> StockReservation.createReservation(orderId, "BOLA-123-ABC", 2))
+        .isInstanceOf(DomainException.class)
+        .hasMessage("Field=[order_id] should not be empty or null by domain stock reservation");
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, -1})
+  void shouldNotCreateReservationWithInvalidQuantity(final int quantity) {
+    assertThatThrownBy(
+            () -> StockReservation.createReservation("order-123", "BOLA-123-ABC", quantity))
+        .isInstanceOf(DomainException.class)
+        .hasMessage("Field=[quantity] should be positive by domain stock reservation");
+  }
+}
@@ -1,5 +1,7 @@
 package com.api.stock.core.domain;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.api.stock.core.domain.exception.DomainException;
@@ -34,4 +36,24 @@ class StockTest {
         .isInstanceOf(DomainException.class)
         .hasMessage("Field=[available_quantity] should not be negative by domain stock");
   }
+
+  @Test
+  void shouldReportAllViolationsTogether() {
+    assertThatThrownBy(() -> new Stock(1, " ", null, 0L))
+        .isInstanceOf(DomainException.class)
+        .hasMessage(
+            "Field=[product_sku] should not be empty or null by domain stock, "
+                + "Field=[available_quantity] should not be empty or null by domain stock");
+  }
+
+  @Test
+  void shouldRestorePersistedStockWithoutValidation() {
+    final var stock = Stock.restore(1, "BOLA-123-ABC", 10, 3L);
+
+    assertThat(stock.getId()).isEqualTo(1);
+    assertThat(stock.getProductSku()).isEqualTo("BOLA-123-ABC");
+    assertThat(stock.getAvailableQuantity()).isEqualTo(10);
+    assertThat(stock.getVersion()).isEqualTo(3L);
+    assertThatCode(() -> Stock.restore(1, null, -1, 0L)).doesNotThrowAnyException();
+  }
 }
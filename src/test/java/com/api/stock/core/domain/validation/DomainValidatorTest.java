@@ -0,0 +1,36 @@
+package com.api.stock.core.domain.validation;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.stock.core.domain.exception.DomainException;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+
+class DomainValidatorTest {
+
+  private record Item(String name, Integer quantity) {}
+
+  private final DomainValidator<Item> validator =
+      DomainValidator.<Item>forDomain("by domain item")
+          .rule("Field=[name] should not be empty or null", Item::name, Objects::isNull)
+          .rule("Field=[quantity] should be positive", Item::quantity, it -> it <= 0)
+          .build();
+
+  @Test
+  void shouldAcceptValidSubject() {
+    assertThatCode(() -> this.validator.validate(new Item("ball", 1))).doesNotThrowAnyException();
+  }
+
+  @Test
+  void shouldReportEveryViolatedRuleInOrder() {
+    assertThatThrownBy(() -> this.validator.validate(new Item(null, 0)))
+        .isInstanceOf(DomainException.class)
+        .hasMessage(
+            "Field=[name] should not be empty or null by domain item, "
+                + "Field=[quantity] should be positive by domain item")
+        .extracting("messages")
+        .asList()
+        .hasSize(2);
+  }
+}
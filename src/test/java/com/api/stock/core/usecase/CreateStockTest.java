@@ -3,15 +3,21 @@ package com.api.stock.core.usecase;
 import static java.util.Optional.empty;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockCreationDto;
 import com.api.stock.core.dto.StockDto;
 import com.api.stock.core.gateway.ProductApiGateway;
 import com.api.stock.core.gateway.StockGateway;
 import com.api.stock.core.gateway.response.ProductDetailsResponse;
 import com.api.stock.core.usecase.exception.ProductNotFoundException;
 import com.api.stock.core.usecase.exception.StockAlreadyExistsException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -80,4 +86,75 @@ class CreateStockTest {
     verify(this.productApiGateway).getProductDetails(request.productSku());
     verifyNoMoreInteractions(this.stockGateway);
   }
+
+  @Test
+  void shouldCreateStocksInBatchReportingEachSku() {
+    final var product =
+        ProductDetailsResponse.builder().name("Bola de futebol").sku("BOLA-123-ABC").build();
+    final var requests =
+        List.of(
+            new StockDto("BOLA-123-ABC", 10),
+            new StockDto("BOLA-456-DEF", 5),
+            new StockDto("BOLA-789-GHI", 1),
+            new StockDto("BOLA-000-XYZ", 2),
+            new StockDto("BOLA-111-AAA", -1),
+            new StockDto("BOLA-222-BBB", 1),
+            new StockDto("BOLA-222-BBB", 2));
+
+    when(this.stockGateway.findByProductSkus(any()))
+        .thenReturn(List.of(new Stock(9, "BOLA-456-DEF", 3)));
+    when(this.productApiGateway.getProductDetails(anyCollection()))
+        .thenReturn(Map.of("BOLA-123-ABC", Optional.of(product), "BOLA-789-GHI", Optional.empty()));
+    when(this.stockGateway.saveAll(any())).thenReturn(List.of(new Stock(1, "BOLA-123-ABC", 10)));
+
+    final var response = this.createStock.execute(requests);
+
+    assertThat(response)
+        .extracting(StockCreationDto::productSku, StockCreationDto::errorCode)
+        .containsExactly(
+            tuple("BOLA-123-ABC", null),
+            tuple("BOLA-456-DEF", "ALREADY_EXISTS"),
+            tuple("BOLA-789-GHI", "NOT_FOUND"),
+            tuple("BOLA-000-XYZ", "PRODUCT_UNAVAILABLE"),
+            tuple("BOLA-111-AAA", "domain_exception"),
+            tuple("BOLA-222-BBB", "DUPLICATED"));
+    assertThat(response.getFirst().isCreated()).isTrue();
+
+    verify(this.stockGateway)
+        .findByProductSkus(List.of("BOLA-123-ABC", "BOLA-456-DEF", "BOLA-789-GHI", "BOLA-000-XYZ"));
+    verify(this.productApiGateway)
+        .getProductDetails(List.of("BOLA-123-ABC", "BOLA-789-GHI", "BOLA-000-XYZ"));
+
+    final ArgumentCaptor<List<Stock>> stocksCaptor = ArgumentCaptor.forClass(List.class);
+    verify(this.stockGateway).saveAll(stocksCaptor.capture());
+
+    assertThat(stocksCaptor.getValue())
+        .extracting(Stock::getProductSku)
+        .containsExactly("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldReportSkuAsDuplicatedWhenOneOfItsRowsIsInvalid() {
+    final var response =
+        this.createStock.execute(
+            List.of(new StockDto("BOLA-111-AAA", -1), new StockDto("BOLA-111-AAA", 10)));
+
+    assertThat(response)
+        .extracting(StockCreationDto::productSku, StockCreationDto::errorCode)
+        .containsExactly(tuple("BOLA-111-AAA", "DUPLICATED"));
+
+    verify(this.stockGateway, never()).saveAll(any());
+    verifyNoInteractions(this.productApiGateway);
+  }
+
+  @Test
+  void shouldNotSaveWhenNoStockIsValidInBatch() {
+    final var response = this.createStock.execute(List.of(new StockDto(" ", 1)));
+
+    assertThat(response)
+        .extracting(StockCreationDto::errorCode)
+        .containsExactly("domain_exception");
+
+    verifyNoInteractions(this.stockGateway, this.productApiGateway);
+  }
 }
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.ReservationGateway;
 import com.api.stock.core.gateway.StockGateway;
 import com.api.stock.core.usecase.exception.StockNotFoundException;
 import java.util.Optional;
@@ -12,7 +13,9 @@ import org.junit.jupiter.api.Test;
 class DeleteStockTest {
 
   private final StockGateway stockGateway = mock(StockGateway.class);
-  private final DeleteStock deleteStock = new DeleteStock(this.stockGateway);
+  private final ReservationGateway reservationGateway = mock(ReservationGateway.class);
+  private final DeleteStock deleteStock =
+      new DeleteStock(this.stockGateway, this.reservationGateway);
 
   @Test
   void shouldDeleteStockSuccessfully() {
@@ -26,6 +29,7 @@ class DeleteStockTest {
 
     verify(this.stockGateway).findByProductSku(productSku);
     verify(this.stockGateway).deleteByProductSku(productSku);
+    verify(this.reservationGateway).evict(productSku);
   }
 
   @Test
@@ -40,5 +44,6 @@ class DeleteStockTest {
 
     verify(this.stockGateway).findByProductSku(productSku);
     verifyNoMoreInteractions(this.stockGateway);
+    verifyNoInteractions(this.reservationGateway);
   }
 }
@@ -0,0 +1,26 @@
+package com.api.stock.core.usecase;
+
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.StockGateway;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class ExportStocksTest {
+
+  private final StockGateway stockGateway = mock(StockGateway.class);
+  private final ExportStocks exportStocks = new ExportStocks(this.stockGateway);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldExportStocksUpdatedSince() {
+    final var updatedSince = LocalDateTime.of(2025, 1, 1, 0, 0);
+    final Consumer<Stock> consumer = mock(Consumer.class);
+
+    this.exportStocks.execute(updatedSince, consumer);
+
+    verify(this.stockGateway).exportAll(updatedSince, consumer);
+  }
+}
@@ -0,0 +1,115 @@
+package com.api.stock.core.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockDto;
+import com.api.stock.core.dto.StockImportErrorDto;
+import com.api.stock.core.dto.StockImportRowDto;
+import com.api.stock.core.gateway.ReservationGateway;
+import com.api.stock.core.gateway.StockGateway;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ImportStocksTest {
+
+  private final StockGateway stockGateway = mock(StockGateway.class);
+  private final ReservationGateway reservationGateway = mock(ReservationGateway.class);
+  private final ImportStocks importStocks =
+      new ImportStocks(this.stockGateway, this.reservationGateway);
+
+  @Test
+  void shouldImportValidRowsAndReportInvalidOnes() {
+    final var rows =
+        Stream.of(
+            StockImportRowDto.valid(1, new StockDto("BOLA-123-ABC", 10)),
+            StockImportRowDto.invalid(2, "BOLA-456-DEF", "Invalid available quantity=[x]."),
+            StockImportRowDto.valid(3, new StockDto("BOLA-789-GHI", -1)),
+            StockImportRowDto.valid(4, new StockDto("BOLA-123-ABC", 12)));
+
+    final var response = this.importStocks.execute(rows);
+
+    assertThat(response.imported()).isEqualTo(1);
+    assertThat(response.failed()).isEqualTo(2);
+    assertThat(response.errors())
+        .extracting(StockImportErrorDto::line, StockImportErrorDto::productSku)
+        .containsExactly(tuple(2L, "BOLA-456-DEF"), tuple(3L, "BOLA-789-GHI"));
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<Stock>> stocksCaptor = ArgumentCaptor.forClass(List.class);
+    verify(this.stockGateway).upsertAll(stocksCaptor.capture());
+
+    assertThat(stocksCaptor.getValue()).hasSize(1);
+    assertThat(stocksCaptor.getValue().getFirst().getAvailableQuantity()).isEqualTo(12);
+
+    verify(this.reservationGateway).refresh("BOLA-123-ABC", 12);
+  }
+
+  @Test
+  void shouldWriteRowsInChunks() {
+    final var rows =
+        LongStream.rangeClosed(1, 1001)
+            .mapToObj(it -> StockImportRowDto.valid(it, new StockDto("SKU-" + it, 1)));
+
+    final var response = this.importStocks.execute(rows);
+
+    assertThat(response.imported()).isEqualTo(1001);
+    assertThat(response.failed()).isZero();
+
+    verify(this.stockGateway, times(3)).upsertAll(any());
+  }
+
+  @Test
+  void shouldReportEveryRowOfAFailedChunkWithAShortMessage() {
+    when(this.stockGateway.upsertAll(any())).thenThrow(new RuntimeException("Error upserting."));
+
+    final var response =
+        this.importStocks.execute(
+            Stream.of(
+                StockImportRowDto.valid(1, new StockDto("BOLA-123-ABC", 10)),
+                StockImportRowDto.valid(2, new StockDto("BOLA-456-DEF", 5))));
+
+    assertThat(response.imported()).isZero();
+    assertThat(response.failed()).isEqualTo(2);
+    assertThat(response.errors())
+        .extracting(StockImportErrorDto::line, StockImportErrorDto::errorMessage)
+        .containsExactly(
+            tuple(1L, "Error writing stock for sku=[BOLA-123-ABC]."),
+            tuple(2L, "Error writing stock for sku=[BOLA-456-DEF]."));
+
+    verify(this.stockGateway, times(3)).upsertAll(any());
+    verifyNoInteractions(this.reservationGateway);
+  }
+
+  @Test
+  void shouldRetryAFailedChunkRowByRow() {
+    when(this.stockGateway.upsertAll(any())).thenAnswer(it -> it.getArgument(0));
+    doThrow(new RuntimeException("Error upserting."))
+        .when(this.stockGateway)
+        .upsertAll(
+            argThat(it -> it.stream().anyMatch(stock -> stock.getProductSku().equals("BAD-SKU"))));
+
+    final var response =
+        this.importStocks.execute(
+            Stream.of(
+                StockImportRowDto.valid(1, new StockDto("BOLA-123-ABC", 10)),
+                StockImportRowDto.valid(2, new StockDto("BAD-SKU", 5)),
+                StockImportRowDto.valid(3, new StockDto("BOLA-456-DEF", 7))));
+
+    assertThat(response.imported()).isEqualTo(2);
+    assertThat(response.failed()).isEqualTo(1);
+    assertThat(response.errors())
+        .extracting(StockImportErrorDto::line, StockImportErrorDto::productSku)
+        .containsExactly(tuple(2L, "BAD-SKU"));
+
+    verify(this.reservationGateway).refresh("BOLA-123-ABC", 10);
+    verify(this.reservationGateway).refresh("BOLA-456-DEF", 7);
+    verifyNoMoreInteractions(this.reservationGateway);
+  }
+}
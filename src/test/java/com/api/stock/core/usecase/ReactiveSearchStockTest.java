@@ -0,0 +1,54 @@
+package com.api.stock.core.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.ReactiveStockGateway;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveSearchStockTest {
+
+  private final ReactiveStockGateway stockGateway = mock(ReactiveStockGateway.class);
+  private final ReactiveSearchStock searchStock = new ReactiveSearchStock(this.stockGateway);
+
+  @Test
+  void shouldSearchStockByProductSku() {
+    final var stock = new Stock(1, "BOLA-123-ABC", 10);
+
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC")).thenReturn(Mono.just(stock));
+
+    assertThat(this.searchStock.execute("BOLA-123-ABC").block()).isEqualTo(stock);
+  }
+
+  @Test
+  void shouldSearchStocksAndReturnMissingSkus() {
+    final var stock = new Stock(1, "BOLA-123-ABC", 10);
+
+    when(this.stockGateway.findByProductSkus(Set.of("BOLA-123-ABC", "BOLA-456-DEF")))
+        .thenReturn(Flux.just(stock));
+
+    final var response =
+        this.searchStock
+            .execute(Arrays.asList("BOLA-123-ABC", "BOLA-456-DEF", "BOLA-123-ABC", " ", null))
+            .block();
+
+    assertThat(response.stocks()).containsExactly(stock);
+    assertThat(response.missingSkus()).containsExactly("BOLA-456-DEF");
+  }
+
+  @Test
+  void shouldNotQueryWhenNoSkuIsRequested() {
+    final var response = this.searchStock.execute(List.<String>of()).block();
+
+    assertThat(response.stocks()).isEmpty();
+    assertThat(response.missingSkus()).isEmpty();
+
+    verifyNoInteractions(this.stockGateway);
+  }
+}
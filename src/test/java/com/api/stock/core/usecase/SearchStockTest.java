@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import com.api.stock.core.domain.Stock;
 import com.api.stock.core.gateway.StockGateway;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -40,4 +41,32 @@ class SearchStockTest {
 
     verify(this.stockGateway).findByProductSku(productSku);
   }
+
+  @Test
+  void shouldSearchStockPageWithNextCursor() {
+    final var first = new Stock(1, "BOLA-123-ABC", 10);
+    final var second = new Stock(2, "BOLA-456-DEF", 5);
+    final var third = new Stock(3, "BOLA-789-GHI", 1);
+
+    when(this.stockGateway.findPage("BOLA-000", 20, 3)).thenReturn(List.of(first, second, third));
+
+    final var response = this.searchStock.execute("BOLA-000", 20, 2);
+
+    assertThat(response.stocks()).containsExactly(first, second);
+    assertThat(response.nextAfter()).isEqualTo("BOLA-456-DEF");
+
+    verify(this.stockGateway).findPage("BOLA-000", 20, 3);
+  }
+
+  @Test
+  void shouldSearchLastStockPageWithoutNextCursor() {
+    final var stock = new Stock(1, "BOLA-123-ABC", 10);
+
+    when(this.stockGateway.findPage(null, null, 3)).thenReturn(List.of(stock));
+
+    final var response = this.searchStock.execute(null, null, 2);
+
+    assertThat(response.stocks()).containsExactly(stock);
+    assertThat(response.nextAfter()).isNull();
+  }
 }
@@ -0,0 +1,44 @@
+package com.api.stock.core.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.StockGateway;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class SearchStocksTest {
+
+  private final StockGateway stockGateway = mock(StockGateway.class);
+  private final SearchStocks searchStocks = new SearchStocks(this.stockGateway);
+
+  @Test
+  void shouldSearchStocksAndReturnMissingSkus() {
+    final var stock = new Stock(1, "BOLA-123-ABC", 10);
+
+    when(this.stockGateway.findByProductSkus(Set.of("BOLA-123-ABC", "BOLA-456-DEF")))
+        .thenReturn(List.of(stock));
+
+    final var response =
+        this.searchStocks.execute(
+            Arrays.asList("BOLA-123-ABC", "BOLA-456-DEF", "BOLA-123-ABC", " ", null));
+
+    assertThat(response.stocks()).containsExactly(stock);
+    assertThat(response.missingSkus()).containsExactly("BOLA-456-DEF");
+
+    verify(this.stockGateway).findByProductSkus(Set.of("BOLA-123-ABC", "BOLA-456-DEF"));
+  }
+
+  @Test
+  void shouldNotQueryWhenNoSkuIsRequested() {
+    final var response = this.searchStocks.execute(List.of());
+
+    assertThat(response.stocks()).isEmpty();
+    assertThat(response.missingSkus()).isEmpty();
+
+    verifyNoInteractions(this.stockGateway);
+  }
+}
@@ -0,0 +1,385 @@
+package com.api.stock.core.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.ReservationOutcome;
+import com.api.stock.core.domain.ReservationState;
+import com.api.stock.core.domain.StockReservation;
+import com.api.stock.core.gateway.EventPublisher;
+import com.api.stock.core.gateway.ReservationGateway;
+import com.api.stock.core.gateway.ReservationMetrics;
+import com.api.stock.core.gateway.StockReservationGateway;
+import com.api.stock.core.usecase.exception.ReservationAlreadyExistsException;
+import com.api.stock.event.ReserveStockEvent;
+import com.api.stock.event.StockReservedEvent;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionOperations;
+
+class StockServiceTest {
+
+  private final ReservationGateway reservationGateway = mock(ReservationGateway.class);
+  private final StockReservationGateway stockReservationGateway =
+      mock(StockReservationGateway.class);
+  private final RecentReservations recentReservations = new RecentReservations(100);
+  private final EventPublisher eventPublisher = mock(EventPublisher.class);
+  private final ReservationMetrics reservationMetrics = mock(ReservationMetrics.class);
+  private final StockService stockService =
+      new StockService(
+          this.reservationGateway,
+          this.stockReservationGateway,
+          this.recentReservations,
+          TransactionOperations.withoutTransaction(),
+          this.eventPublisher,
+          this.reservationMetrics);
+
+  @Test
+  void shouldReserveStockSuccessfully() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 2)).thenReturn(true);
+
+    final var response = this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123");
+
+    assertThat(response).isTrue();
+
+    final ArgumentCaptor<StockReservation> reservationCaptor =
+        ArgumentCaptor.forClass(StockReservation.class);
+    verify(this.stockReservationGateway).save(reservationCaptor.capture());
+    verifyNoMoreInteractions(this.stockReservationGateway);
+
+    assertThat(reservationCaptor.getValue().getOrderId()).isEqualTo("order-123");
+    assertThat(reservationCaptor.getValue().getProductSku()).isEqualTo("BOLA-123-ABC");
+    assertThat(reservationCaptor.getValue().getQuantity()).isEqualTo(2);
+    assertThat(reservationCaptor.getValue().getState()).isEqualTo(ReservationState.RESERVED);
+
+    verify(this.reservationGateway).reserve("BOLA-123-ABC", 2);
+    verifyNoMoreInteractions(this.reservationGateway);
+
+    final ArgumentCaptor<StockReservedEvent> eventCaptor =
+        ArgumentCaptor.forClass(StockReservedEvent.class);
+    verify(this.eventPublisher).publish(eventCaptor.capture());
+
+    assertThat(eventCaptor.getValue().orderId()).isEqualTo("order-123");
+    assertThat(eventCaptor.getValue().success()).isTrue();
+  }
+
+  @Test
+  void shouldRejectReservationWhenQuantityIsNotAvailable() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 20)).thenReturn(false);
+
+    final var response = this.stockService.reserveStock("BOLA-123-ABC", 20, "order-123");
+
+    assertThat(response).isFalse();
+
+    final ArgumentCaptor<StockReservation> reservationCaptor =
+        ArgumentCaptor.forClass(StockReservation.class);
+    verify(this.stockReservationGateway).update(reservationCaptor.capture());
+
+    assertThat(reservationCaptor.getValue().getState()).isEqualTo(ReservationState.REJECTED);
+
+    final ArgumentCaptor<StockReservedEvent> eventCaptor =
+        ArgumentCaptor.forClass(StockReservedEvent.class);
+    verify(this.eventPublisher).publish(eventCaptor.capture());
+
+    assertThat(eventCaptor.getValue().success()).isFalse();
+  }
+
+  @Test
+  void shouldNotPublishOutcomeWhenReservationTransactionFails() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 2))
+        .thenThrow(new IllegalStateException("database is down"));
+
+    assertThatThrownBy(() -> this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123"))
+        .isInstanceOf(IllegalStateException.class);
+
+    verifyNoInteractions(this.eventPublisher);
+  }
+
+  @Test
+  void shouldNotReserveStockWhenQuantityIsNotPositive() {
+    final var response = this.stockService.reserveStock("BOLA-123-ABC", 0, "order-123");
+
+    assertThat(response).isFalse();
+
+    verifyNoInteractions(this.reservationGateway, this.stockReservationGateway);
+    verify(this.eventPublisher).publish(any(StockReservedEvent.class));
+  }
+
+  @Test
+  void shouldAnswerRedeliveryFromRecentReservationsWithoutTouchingStock() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 2)).thenReturn(true);
+
+    this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123");
+    final var response = this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123");
+
+    assertThat(response).isTrue();
+
+    verify(this.reservationGateway).reserve("BOLA-123-ABC", 2);
+    verify(this.stockReservationGateway).save(any());
+    verify(this.eventPublisher, times(2))
+        .publish(StockReservedEvent.of("order-123", "BOLA-123-ABC", true));
+  }
+
+  @Test
+  void shouldAnswerRedeliveryFromLedgerWhenReservationAlreadyExists() {
+    final var existing =
+        new StockReservation(
+            1L, "order-123", "BOLA-123-ABC", 2, ReservationState.RESERVED, null, null);
+
+    when(this.stockReservationGateway.save(any()))
+        .thenThrow(new ReservationAlreadyExistsException("order-123", "BOLA-123-ABC"));
+    when(this.stockReservationGateway.findByOrderIdAndProductSku("order-123", "BOLA-123-ABC"))
+        .thenReturn(Optional.of(existing));
+
+    final var response = this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123");
+
+    assertThat(response).isTrue();
+
+    verifyNoInteractions(this.reservationGateway);
+    verify(this.eventPublisher).publish(StockReservedEvent.of("order-123", "BOLA-123-ABC", true));
+    verify(this.reservationMetrics).replayed("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldReserveStocksGroupedBySkuInArrivalOrder() {
+    final var events =
+        List.of(
+            new ReserveStockEvent("order-1", "BOLA-123-ABC", 2),
+            new ReserveStockEvent("order-2", "BOLA-456-DEF", 1),
+            new ReserveStockEvent("order-3", "BOLA-123-ABC", 9),
+            new ReserveStockEvent("order-1", "BOLA-123-ABC", 2));
+
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserveAll("BOLA-123-ABC", List.of(2, 9)))
+        .thenReturn(List.of(true, false));
+    when(this.reservationGateway.reserveAll("BOLA-456-DEF", List.of(1))).thenReturn(List.of(true));
+
+    final var response = this.stockService.reserveStocks(events);
+
+    assertThat(response)
+        .containsExactly(
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true),
+            StockReservedEvent.of("order-2", "BOLA-456-DEF", true),
+            StockReservedEvent.of("order-3", "BOLA-123-ABC", false),
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+
+    verify(this.reservationGateway).reserveAll("BOLA-123-ABC", List.of(2, 9));
+    verify(this.reservationGateway).reserveAll("BOLA-456-DEF", List.of(1));
+    verifyNoMoreInteractions(this.reservationGateway);
+    verify(this.stockReservationGateway, times(3)).save(any());
+    verify(this.eventPublisher)
+        .publishAll(
+            List.of(
+                StockReservedEvent.of("order-1", "BOLA-123-ABC", true),
+                StockReservedEvent.of("order-3", "BOLA-123-ABC", false),
+                StockReservedEvent.of("order-1", "BOLA-123-ABC", true)));
+    verify(this.eventPublisher)
+        .publishAll(List.of(StockReservedEvent.of("order-2", "BOLA-456-DEF", true)));
+    verifyNoMoreInteractions(this.eventPublisher);
+  }
+
+  @Test
+  void shouldSkipAlreadyRecordedReservationsInBatch() {
+    final var existing =
+        new StockReservation(
+            1L, "order-1", "BOLA-123-ABC", 2, ReservationState.REJECTED, null, null);
+
+    when(this.stockReservationGateway.findByProductSkuAndOrderIds(
+            "BOLA-123-ABC", List.of("order-1")))
+        .thenReturn(List.of(existing));
+
+    final var response =
+        this.stockService.reserveStocks(
+            List.of(new ReserveStockEvent("order-1", "BOLA-123-ABC", 2)));
+
+    assertThat(response).containsExactly(StockReservedEvent.of("order-1", "BOLA-123-ABC", false));
+
+    verifyNoInteractions(this.reservationGateway);
+    verify(this.stockReservationGateway, never()).save(any());
+  }
+
+  @Test
+  void shouldRecordReservationOutcomes() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 2)).thenReturn(true);
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 20)).thenReturn(false);
+
+    this.stockService.reserveStock("BOLA-123-ABC", 2, "order-1");
+    this.stockService.reserveStock("BOLA-123-ABC", 20, "order-2");
+    this.stockService.reserveStock("BOLA-123-ABC", 0, "order-3");
+
+    verify(this.reservationMetrics, times(3)).started(1);
+    verify(this.reservationMetrics)
+        .finished(eq("BOLA-123-ABC"), eq(ReservationOutcome.RESERVED), anyLong());
+    verify(this.reservationMetrics)
+        .finished(eq("BOLA-123-ABC"), eq(ReservationOutcome.INSUFFICIENT_STOCK), anyLong());
+    verify(this.reservationMetrics)
+        .finished(eq("BOLA-123-ABC"), eq(ReservationOutcome.INVALID), anyLong());
+  }
+
+  @Test
+  void shouldRecordFailedReservation() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 2))
+        .thenThrow(new IllegalStateException("database is down"));
+
+    assertThatThrownBy(() -> this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123"))
+        .isInstanceOf(IllegalStateException.class);
+
+    verify(this.reservationMetrics)
+        .finished(eq("BOLA-123-ABC"), eq(ReservationOutcome.FAILED), anyLong());
+  }
+
+  @Test
+  void shouldRecordOutcomeOfEveryEventInBatch() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserveAll("BOLA-123-ABC", List.of(2))).thenReturn(List.of(false));
+
+    this.stockService.reserveStocks(
+        List.of(
+            new ReserveStockEvent("order-1", "BOLA-123-ABC", 2),
+            new ReserveStockEvent("order-2", "BOLA-456-DEF", 0)));
+
+    verify(this.reservationMetrics).started(2);
+    verify(this.reservationMetrics)
+        .finished(eq("BOLA-123-ABC"), eq(ReservationOutcome.INSUFFICIENT_STOCK), anyLong());
+    verify(this.reservationMetrics)
+        .finished(eq("BOLA-456-DEF"), eq(ReservationOutcome.INVALID), anyLong());
+    verify(this.reservationMetrics).stockUpdated(eq("BOLA-123-ABC"), anyLong());
+  }
+
+  @Test
+  void shouldRecordStockUpdatesAndReplays() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve("BOLA-123-ABC", 2)).thenReturn(true);
+
+    this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123");
+    this.stockService.reserveStock("BOLA-123-ABC", 2, "order-123");
+    this.stockService.reserveStocks(List.of(new ReserveStockEvent("order-123", "BOLA-123-ABC", 2)));
+
+    verify(this.reservationMetrics).stockUpdated(eq("BOLA-123-ABC"), anyLong());
+    verify(this.reservationMetrics, times(2)).replayed("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldAnswerInvalidWhenEventHasNoSku() {
+    final var response = this.stockService.reserveStock(null, 0, "order-123");
+
+    assertThat(response).isFalse();
+    verify(this.reservationMetrics).finished(eq(null), eq(ReservationOutcome.INVALID), anyLong());
+    verifyNoInteractions(this.reservationGateway, this.stockReservationGateway);
+  }
+
+  @Test
+  void shouldAnswerInvalidWhenEventHasNoSkuButAValidQuantity() {
+    assertThat(this.stockService.reserveStock(null, 2, "order-123")).isFalse();
+    assertThat(this.stockService.reserveStock(" ", 2, "order-456")).isFalse();
+
+    verify(this.reservationMetrics).finished(eq(null), eq(ReservationOutcome.INVALID), anyLong());
+    verify(this.reservationMetrics).finished(eq(" "), eq(ReservationOutcome.INVALID), anyLong());
+    verify(this.eventPublisher).publish(StockReservedEvent.of("order-123", null, false));
+    verifyNoInteractions(this.reservationGateway, this.stockReservationGateway);
+  }
+
+  @Test
+  void shouldAnswerInvalidForBatchEventsWithoutSkuAndReserveTheOthers() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserveAll("BOLA-123-ABC", List.of(2))).thenReturn(List.of(true));
+
+    final var response =
+        this.stockService.reserveStocks(
+            List.of(
+                new ReserveStockEvent("order-123", null, 2),
+                new ReserveStockEvent("order-456", "BOLA-123-ABC", 2),
+                new ReserveStockEvent("order-789", "", 3)));
+
+    assertThat(response)
+        .extracting(StockReservedEvent::orderId, StockReservedEvent::success)
+        .containsExactly(
+            tuple("order-123", false), tuple("order-456", true), tuple("order-789", false));
+
+    verify(this.reservationGateway).reserveAll("BOLA-123-ABC", List.of(2));
+    verifyNoMoreInteractions(this.reservationGateway);
+    verify(this.reservationMetrics, times(2))
+        .finished(any(), eq(ReservationOutcome.INVALID), anyLong());
+  }
+
+  @Test
+  void shouldReleaseReservedQuantitiesOfTheOrder() {
+    final var reserved =
+        new StockReservation(
+            1L, "order-123", "BOLA-123-ABC", 2, ReservationState.RESERVED, null, null);
+    final var rejected =
+        new StockReservation(
+            2L, "order-123", "BOLA-456-DEF", 5, ReservationState.REJECTED, null, null);
+
+    when(this.stockReservationGateway.findByOrderId("order-123"))
+        .thenReturn(List.of(reserved, rejected));
+    when(this.stockReservationGateway.release(reserved)).thenReturn(true);
+
+    this.stockService.releaseStock("order-123", null, 0);
+
+    verify(this.reservationGateway).release("BOLA-123-ABC", 2);
+    verifyNoMoreInteractions(this.reservationGateway);
+
+    verify(this.stockReservationGateway).release(reserved);
+    verify(this.stockReservationGateway, never()).release(rejected);
+    verify(this.stockReservationGateway, never()).update(any());
+  }
+
+  @Test
+  void shouldNotReleaseStockWhenAnotherDeliveryAlreadyReleasedTheReservation() {
+    final var reserved =
+        new StockReservation(
+            1L, "order-123", "BOLA-123-ABC", 2, ReservationState.RESERVED, null, null);
+
+    when(this.stockReservationGateway.findByOrderId("order-123")).thenReturn(List.of(reserved));
+    when(this.stockReservationGateway.release(reserved)).thenReturn(true, false);
+
+    this.stockService.releaseStock("order-123", "BOLA-123-ABC", 2);
+    this.stockService.releaseStock("order-123", "BOLA-123-ABC", 2);
+
+    verify(this.reservationGateway, times(1)).release("BOLA-123-ABC", 2);
+    verify(this.stockReservationGateway, times(2)).release(reserved);
+  }
+
+  @Test
+  void shouldNotReleaseTwiceForTheSameOrder() {
+    final var released =
+        new StockReservation(
+            1L, "order-123", "BOLA-123-ABC", 2, ReservationState.RELEASED, null, null);
+
+    when(this.stockReservationGateway.findByOrderId("order-123")).thenReturn(List.of(released));
+
+    this.stockService.releaseStock("order-123", "BOLA-123-ABC", 2);
+
+    verifyNoInteractions(this.reservationGateway);
+    verify(this.stockReservationGateway, never()).release(any());
+  }
+
+  @Test
+  void shouldReleaseStockByQuantityWhenOrderIdIsMissing() {
+    this.stockService.releaseStock(null, "BOLA-123-ABC", 2);
+
+    verify(this.reservationGateway).release("BOLA-123-ABC", 2);
+    verifyNoInteractions(this.stockReservationGateway);
+  }
+
+  @Test
+  void shouldNotReleaseStockWhenQuantityIsNotPositive() {
+    this.stockService.releaseStock(null, "BOLA-123-ABC", -1);
+
+    verifyNoInteractions(this.reservationGateway);
+  }
+}
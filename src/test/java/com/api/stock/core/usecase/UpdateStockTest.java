@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.ReservationGateway;
 import com.api.stock.core.gateway.StockGateway;
 import com.api.stock.core.usecase.exception.StockNotFoundException;
 import java.util.Optional;
@@ -14,7 +15,9 @@ import org.mockito.ArgumentCaptor;
 class UpdateStockTest {
 
   private final StockGateway stockGateway = mock(StockGateway.class);
-  private final UpdateStock updateStock = new UpdateStock(this.stockGateway);
+  private final ReservationGateway reservationGateway = mock(ReservationGateway.class);
+  private final UpdateStock updateStock =
+      new UpdateStock(this.stockGateway, this.reservationGateway);
 
   @Test
   void shouldUpdateStockSuccessfully() {
@@ -35,6 +38,7 @@ class UpdateStockTest {
 
     final var stockCaptured = stockCaptor.getValue();
     verify(this.stockGateway).update(stockCaptured);
+    verify(this.reservationGateway).refresh(productSku, 0);
 
     assertThat(stockCaptured.getProductSku()).isEqualTo(productSku);
     assertThat(stockCaptured.getAvailableQuantity()).isEqualTo(quantity);
@@ -53,5 +57,6 @@ class UpdateStockTest {
 
     verify(this.stockGateway).findByProductSku(productSku);
     verifyNoMoreInteractions(this.stockGateway);
+    verifyNoInteractions(this.reservationGateway);
   }
 }
@@ -0,0 +1,32 @@
+package com.api.stock.entrypoint.actuator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.api.stock.infra.gateway.reservation.HotSkuReport;
+import com.api.stock.infra.gateway.reservation.HotSkuTracker;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HotSkuEndpointTest {
+
+  private final HotSkuTracker hotSkuTracker = mock(HotSkuTracker.class);
+  private final HotSkuEndpoint hotSkuEndpoint = new HotSkuEndpoint(this.hotSkuTracker);
+
+  @Test
+  void shouldReportHotSkus() {
+    final var report = new HotSkuReport(60_000, 0, 0, List.of());
+    when(this.hotSkuTracker.report()).thenReturn(report);
+
+    assertThat(this.hotSkuEndpoint.hotSkus()).isEqualTo(report);
+  }
+
+  @Test
+  void shouldEstimateSingleSku() {
+    final var estimate = new HotSkuReport.Estimate("BOLA-123-ABC", 120, 2);
+    when(this.hotSkuTracker.estimate("BOLA-123-ABC")).thenReturn(estimate);
+
+    assertThat(this.hotSkuEndpoint.hotSku("BOLA-123-ABC")).isEqualTo(estimate);
+  }
+}
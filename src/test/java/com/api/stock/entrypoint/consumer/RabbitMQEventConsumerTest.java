@@ -4,23 +4,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-import com.api.stock.core.gateway.EventPublisher;
 import com.api.stock.core.usecase.StockService;
 import com.api.stock.event.ReleaseStockEvent;
 import com.api.stock.event.ReserveStockEvent;
 import com.api.stock.event.StockReservedEvent;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 class RabbitMQEventConsumerTest {
 
   private final StockService stockService = mock(StockService.class);
-  private final EventPublisher eventPublisher = mock(EventPublisher.class);
-  private final RabbitMQEventConsumer eventConsumer =
-      new RabbitMQEventConsumer(stockService, eventPublisher);
+  private final RabbitMQEventConsumer eventConsumer = new RabbitMQEventConsumer(stockService);
 
   @Test
-  void shouldReserveStockSuccessfullyAndPublishEvent() {
+  void shouldReserveStockSuccessfully() {
     final var event = new ReserveStockEvent("order-123", "sku-123", 10);
 
     when(stockService.reserveStock(any(String.class), anyInt(), any(String.class)))
@@ -38,17 +36,11 @@ class RabbitMQEventConsumerTest {
     assertThat(skuCaptor.getValue()).isEqualTo(event.productSku());
     assertThat(quantityCaptor.getValue()).isEqualTo(event.quantity());
     assertThat(orderIdCaptor.getValue()).isEqualTo(event.orderId());
-
-    final ArgumentCaptor<StockReservedEvent> eventCaptor =
-        ArgumentCaptor.forClass(StockReservedEvent.class);
-    verify(eventPublisher).publish(eventCaptor.capture());
-
-    assertThat(eventCaptor.getValue().orderId()).isEqualTo(event.orderId());
-    assertThat(eventCaptor.getValue().success()).isTrue();
+    verifyNoMoreInteractions(stockService);
   }
 
   @Test
-  void shouldHandleFailedStockReservationAndPublishEvent() {
+  void shouldHandleFailedStockReservation() {
     final var event = new ReserveStockEvent("order-123", "sku-123", 10);
 
     when(stockService.reserveStock(any(String.class), anyInt(), any(String.class)))
@@ -66,27 +58,34 @@ class RabbitMQEventConsumerTest {
     assertThat(skuCaptor.getValue()).isEqualTo(event.productSku());
     assertThat(quantityCaptor.getValue()).isEqualTo(event.quantity());
     assertThat(orderIdCaptor.getValue()).isEqualTo(event.orderId());
-
-    final ArgumentCaptor<StockReservedEvent> eventCaptor =
-        ArgumentCaptor.forClass(StockReservedEvent.class);
-    verify(eventPublisher).publish(eventCaptor.capture());
-
-    assertThat(eventCaptor.getValue().orderId()).isEqualTo(event.orderId());
-    assertThat(eventCaptor.getValue().success()).isFalse();
+    verifyNoMoreInteractions(stockService);
   }
 
   @Test
   void shouldReleaseStockSuccessfully() {
-    final var event = new ReleaseStockEvent("sku-123", 10);
+    final var event = new ReleaseStockEvent("order-123", "sku-123", 10);
 
     eventConsumer.consumeReleaseStockEvent(event);
 
-    final ArgumentCaptor<String> skuCaptor = ArgumentCaptor.forClass(String.class);
-    final ArgumentCaptor<Integer> quantityCaptor = ArgumentCaptor.forClass(Integer.class);
-
-    verify(stockService).releaseStock(skuCaptor.capture(), quantityCaptor.capture());
+    verify(stockService).releaseStock(event.orderId(), event.productSku(), event.quantity());
+  }
 
-    assertThat(skuCaptor.getValue()).isEqualTo(event.productSku());
-    assertThat(quantityCaptor.getValue()).isEqualTo(event.quantity());
+  @Test
+  void shouldReserveStockBatch() {
+    final var events =
+        List.of(
+            new ReserveStockEvent("order-1", "sku-123", 10),
+            new ReserveStockEvent("order-2", "sku-123", 5));
+    final var outcomes =
+        List.of(
+            StockReservedEvent.of("order-1", "sku-123", true),
+            StockReservedEvent.of("order-2", "sku-123", false));
+
+    when(stockService.reserveStocks(events)).thenReturn(outcomes);
+
+    eventConsumer.consumeReserveStockEvents(events);
+
+    verify(stockService).reserveStocks(events);
+    verifyNoMoreInteractions(stockService);
   }
 }
@@ -0,0 +1,100 @@
+package com.api.stock.entrypoint.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.gateway.EventPublisher;
+import com.api.stock.core.gateway.ReservationGateway;
+import com.api.stock.core.gateway.ReservationMetrics;
+import com.api.stock.core.gateway.StockReservationGateway;
+import com.api.stock.core.usecase.RecentReservations;
+import com.api.stock.core.usecase.StockService;
+import com.api.stock.event.ReserveStockEvent;
+import com.api.stock.event.StockReservedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+/** Every ReserveStockEvent consumed must produce exactly one StockReservedEvent. */
+class ReserveStockContractTest {
+
+  private final ReservationGateway reservationGateway = mock(ReservationGateway.class);
+  private final StockReservationGateway stockReservationGateway =
+      mock(StockReservationGateway.class);
+  private final List<StockReservedEvent> published = new ArrayList<>();
+  private final EventPublisher eventPublisher =
+      new EventPublisher() {
+        @Override
+        public void publish(final Object event) {
+          published.add((StockReservedEvent) event);
+        }
+
+        @Override
+        public void publishAll(final List<?> events) {
+          events.forEach(this::publish);
+        }
+      };
+  private final RabbitMQEventConsumer eventConsumer =
+      new RabbitMQEventConsumer(
+          new StockService(
+              this.reservationGateway,
+              this.stockReservationGateway,
+              new RecentReservations(100),
+              TransactionOperations.withoutTransaction(),
+              this.eventPublisher,
+              mock(ReservationMetrics.class)));
+
+  @BeforeEach
+  void setUp() {
+    when(this.stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    when(this.reservationGateway.reserve(anyString(), anyInt())).thenReturn(true);
+    when(this.reservationGateway.reserveAll(anyString(), anyList()))
+        .thenAnswer(it -> ((List<?>) it.getArgument(1)).stream().map(quantity -> true).toList());
+  }
+
+  @Test
+  void shouldPublishExactlyOneOutcomePerReserveStockEvent() {
+    final var events =
+        List.of(
+            new ReserveStockEvent("order-1", "BOLA-123-ABC", 2),
+            new ReserveStockEvent("order-2", "BOLA-123-ABC", 0),
+            new ReserveStockEvent("order-1", "BOLA-123-ABC", 2));
+
+    events.forEach(this.eventConsumer::consumeReserveStockEvent);
+
+    assertThat(this.published)
+        .containsExactly(
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true),
+            StockReservedEvent.of("order-2", "BOLA-123-ABC", false),
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+    assertThat(this.published.get(0).eventId()).isEqualTo(this.published.get(2).eventId());
+    assertThat(this.published).allMatch(it -> it.version() == StockReservedEvent.VERSION);
+  }
+
+  @Test
+  void shouldPublishExactlyOneOutcomePerReserveStockEventInBatch() {
+    final var events =
+        List.of(
+            new ReserveStockEvent("order-1", "BOLA-123-ABC", 2),
+            new ReserveStockEvent("order-2", "BOLA-456-DEF", 1),
+            new ReserveStockEvent("order-3", "BOLA-123-ABC", -1),
+            new ReserveStockEvent("order-1", "BOLA-123-ABC", 2));
+
+    this.eventConsumer.consumeReserveStockEvents(events);
+    this.eventConsumer.consumeReserveStockEvents(events.subList(0, 1));
+
+    assertThat(this.published)
+        .containsExactlyInAnyOrder(
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true),
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true),
+            StockReservedEvent.of("order-2", "BOLA-456-DEF", true),
+            StockReservedEvent.of("order-3", "BOLA-123-ABC", false),
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+  }
+}
@@ -0,0 +1,140 @@
+package com.api.stock.entrypoint.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.config.ReserveStockPartitionConfig;
+import com.api.stock.config.ReserveStockPartitions;
+import com.api.stock.event.ReserveStockEvent;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+class ReserveStockPartitionConsumerTest {
+
+  private final ReserveStockPartitions reserveStockPartitions =
+      new ReserveStockPartitions(4, List.of());
+  private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+  private final RabbitMQEventConsumer eventConsumer = mock(RabbitMQEventConsumer.class);
+  private final ReserveStockPartitionConsumer partitionConsumer =
+      new ReserveStockPartitionConsumer(
+          this.reserveStockPartitions, this.rabbitTemplate, this.eventConsumer, 50);
+
+  @Test
+  void shouldRouteOriginalMessageToSkuPartitionAsPersistent() {
+    final var event = new ReserveStockEvent("order-123", "BOLA-123-ABC", 2);
+    final var message = new Message("{}".getBytes(), new MessageProperties());
+    final var expectedQueue =
+        ReserveStockPartitions.QUEUE_PREFIX + Math.floorMod("BOLA-123-ABC".hashCode(), 4);
+    this.confirmSends(new CorrelationData.Confirm(true, null), null);
+
+    this.partitionConsumer.routeReserveStockEvent(event, message);
+
+    verify(this.rabbitTemplate)
+        .send(
+            eq(ReserveStockPartitionConfig.PARTITION_EXCHANGE_NAME),
+            eq(expectedQueue),
+            eq(message),
+            any(CorrelationData.class));
+    assertThat(message.getMessageProperties().getDeliveryMode())
+        .isEqualTo(MessageDeliveryMode.PERSISTENT);
+    verifyNoInteractions(this.eventConsumer);
+  }
+
+  @Test
+  void shouldFailSoTheOriginalIsRedeliveredWhenTheCopyIsNacked() {
+    final var event = new ReserveStockEvent("order-123", "BOLA-123-ABC", 2);
+    final var message = new Message("{}".getBytes(), new MessageProperties());
+    this.confirmSends(new CorrelationData.Confirm(false, "internal error"), null);
+
+    assertThatThrownBy(() -> this.partitionConsumer.routeReserveStockEvent(event, message))
+        .isInstanceOf(AmqpException.class)
+        .hasMessageContaining("productSku=[BOLA-123-ABC]")
+        .hasMessageEndingWith("nack: internal error");
+  }
+
+  @Test
+  void shouldFailSoTheOriginalIsRedeliveredWhenTheCopyIsReturned() {
+    final var event = new ReserveStockEvent("order-123", "BOLA-123-ABC", 2);
+    final var message = new Message("{}".getBytes(), new MessageProperties());
+    this.confirmSends(
+        new CorrelationData.Confirm(true, null),
+        new ReturnedMessage(message, 312, "NO_ROUTE", "exchange", "routing-key"));
+
+    assertThatThrownBy(() -> this.partitionConsumer.routeReserveStockEvent(event, message))
+        .isInstanceOf(AmqpException.class)
+        .hasMessageEndingWith("returned: NO_ROUTE");
+  }
+
+  @Test
+  void shouldFailSoTheOriginalIsRedeliveredWhenTheCopyIsNotConfirmedInTime() {
+    final var event = new ReserveStockEvent("order-123", "BOLA-123-ABC", 2);
+    final var message = new Message("{}".getBytes(), new MessageProperties());
+
+    assertThatThrownBy(() -> this.partitionConsumer.routeReserveStockEvent(event, message))
+        .isInstanceOf(AmqpException.class)
+        .hasMessageContaining("productSku=[BOLA-123-ABC]");
+  }
+
+  @Test
+  void shouldRouteEverySkuToTheSamePartition() {
+    final var partitions =
+        IntStream.range(0, 10)
+            .map(it -> this.reserveStockPartitions.partitionOf("BOLA-456-DEF"))
+            .distinct()
+            .toArray();
+
+    assertThat(partitions).hasSize(1);
+    assertThat(partitions[0]).isBetween(0, 3);
+    assertThat(this.reserveStockPartitions.partitionOf(null)).isZero();
+  }
+
+  @Test
+  void shouldConsumeOnlyAssignedPartitions() {
+    final var assigned = new ReserveStockPartitions(4, List.of(1, 3, 1));
+
+    assertThat(assigned.assignedQueueNames())
+        .containsExactly("reserve-stock.partition-1", "reserve-stock.partition-3");
+    assertThat(assigned.queueNames()).hasSize(4);
+    assertThat(this.reserveStockPartitions.assignedQueueNames()).hasSize(4);
+  }
+
+  @Test
+  void shouldRejectAssignedPartitionOutOfRange() {
+    assertThatThrownBy(() -> new ReserveStockPartitions(4, List.of(4)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Assigned partition=[4] is out of range for 4 partitions.");
+  }
+
+  @Test
+  void shouldReserveStockFromPartition() {
+    final var event = new ReserveStockEvent("order-123", "BOLA-123-ABC", 2);
+
+    this.partitionConsumer.consumeReserveStockEvent(event);
+
+    verify(this.eventConsumer).consumeReserveStockEvent(event);
+    verifyNoInteractions(this.rabbitTemplate);
+  }
+
+  private void confirmSends(final CorrelationData.Confirm confirm, final ReturnedMessage returned) {
+    doAnswer(
+            it -> {
+              final CorrelationData correlation = it.getArgument(3);
+              correlation.setReturned(returned);
+              correlation.getFuture().complete(confirm);
+              return null;
+            })
+        .when(this.rabbitTemplate)
+        .send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+  }
+}
@@ -0,0 +1,23 @@
+package com.api.stock.entrypoint.consumer;
+
+import static org.mockito.Mockito.*;
+
+import com.api.stock.event.StockChangedEvent;
+import com.api.stock.infra.gateway.cache.CachingStockGateway;
+import org.junit.jupiter.api.Test;
+
+class StockChangedEventConsumerTest {
+
+  private final CachingStockGateway cachingStockGateway = mock(CachingStockGateway.class);
+  private final StockChangedEventConsumer eventConsumer =
+      new StockChangedEventConsumer(cachingStockGateway);
+
+  @Test
+  void shouldRefreshCachedStock() {
+    final var event = new StockChangedEvent(1, "sku-123", 10, 2L);
+
+    eventConsumer.consumeStockChangedEvent(event);
+
+    verify(cachingStockGateway).refresh(event);
+  }
+}
@@ -0,0 +1,133 @@
+package com.api.stock.entrypoint.controller;
+
+import static java.lang.String.format;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockLookupDto;
+import com.api.stock.core.usecase.ReactiveSearchStock;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = "app.stock.reactive.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveStockControllerTest {
+
+  private static final String BASE_URL = "/api/reactive/stocks";
+  private static final String BASE_URL_WITH_PRODUCT_SKU = BASE_URL + "/%s";
+  private static final String LOOKUP_URL = BASE_URL + "/lookup";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private ReactiveSearchStock searchStock;
+
+  @Test
+  void shouldSearchStockSuccessfully() throws Exception {
+    final var productSku = "BOLA-123-ABC";
+
+    when(this.searchStock.execute(productSku)).thenReturn(Mono.just(new Stock(1, productSku, 10)));
+
+    final var result =
+        mockMvc
+            .perform(get(format(BASE_URL_WITH_PRODUCT_SKU, productSku)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(1))
+        .andExpect(jsonPath("$.productSku").value(productSku))
+        .andExpect(jsonPath("$.quantity").value(10));
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenStockDoesNotExist() throws Exception {
+    final var productSku = "BOLA-123-ABC";
+
+    when(this.searchStock.execute(productSku)).thenReturn(Mono.empty());
+
+    final var result =
+        mockMvc.perform(get(format(BASE_URL_WITH_PRODUCT_SKU, productSku))).andReturn();
+
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldLookupStocksSuccessfully() throws Exception {
+    final var productSkus = List.of("BOLA-123-ABC", "BOLA-456-DEF");
+
+    when(this.searchStock.execute(productSkus))
+        .thenReturn(
+            Mono.just(
+                new StockLookupDto(
+                    List.of(new Stock(1, "BOLA-123-ABC", 10)), List.of("BOLA-456-DEF"))));
+
+    final var result =
+        mockMvc
+            .perform(
+                post(LOOKUP_URL)
+                    .contentType("application/json")
+                    .content("[\"BOLA-123-ABC\", \"BOLA-456-DEF\"]"))
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.stocks[0].productSku").value("BOLA-123-ABC"))
+        .andExpect(jsonPath("$.missingSkus[0]").value("BOLA-456-DEF"));
+  }
+
+  @Test
+  void shouldLookupStocksByRepeatedSkuParams() throws Exception {
+    final var productSkus = List.of("BOLA-123-ABC", "BOLA-456-DEF");
+
+    when(this.searchStock.execute(productSkus))
+        .thenReturn(Mono.just(new StockLookupDto(List.of(), productSkus)));
+
+    final var result =
+        mockMvc
+            .perform(get(LOOKUP_URL).param("sku", "BOLA-123-ABC").param("sku", "BOLA-456-DEF"))
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.stocks").isEmpty())
+        .andExpect(jsonPath("$.missingSkus.length()").value(2));
+  }
+
+  @Test
+  void shouldRejectLookupAboveMaximumSkus() throws Exception {
+    final var productSkus = IntStream.rangeClosed(0, 1000).mapToObj(it -> "SKU-" + it).toList();
+
+    mockMvc
+        .perform(
+            post(LOOKUP_URL)
+                .contentType("application/json")
+                .content(
+                    productSkus.stream()
+                        .map(it -> "\"" + it + "\"")
+                        .collect(Collectors.joining(",", "[", "]"))))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get(LOOKUP_URL).param("sku", productSkus.toArray(String[]::new)))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.searchStock);
+  }
+}
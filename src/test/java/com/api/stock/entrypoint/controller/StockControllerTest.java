@@ -5,17 +5,31 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.core.dto.StockCreationDto;
 import com.api.stock.core.dto.StockDto;
+import com.api.stock.core.dto.StockImportErrorDto;
+import com.api.stock.core.dto.StockImportResultDto;
+import com.api.stock.core.dto.StockLookupDto;
+import com.api.stock.core.dto.StockPageDto;
 import com.api.stock.core.usecase.CreateStock;
 import com.api.stock.core.usecase.DeleteStock;
+import com.api.stock.core.usecase.ExportStocks;
+import com.api.stock.core.usecase.ImportStocks;
 import com.api.stock.core.usecase.SearchStock;
+import com.api.stock.core.usecase.SearchStocks;
 import com.api.stock.core.usecase.UpdateStock;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -35,14 +49,21 @@ class StockControllerTest {
 
   private static final String BASE_URL = "/api/stocks";
   private static final String BASE_URL_WITH_PRODUCT_SKU = BASE_URL + "/%s";
+  private static final String LOOKUP_URL = BASE_URL + "/lookup";
+  private static final String BATCH_URL = BASE_URL + "/batch";
+  private static final String IMPORT_URL = BASE_URL + "/import";
+  private static final String EXPORT_URL = BASE_URL + "/export";
 
   @Autowired private MockMvc mockMvc;
   @Autowired private ObjectMapper objectMapper;
 
   @MockitoBean private CreateStock createStock;
   @MockitoBean private SearchStock searchStock;
+  @MockitoBean private SearchStocks searchStocks;
   @MockitoBean private UpdateStock updateStock;
   @MockitoBean private DeleteStock deleteStock;
+  @MockitoBean private ImportStocks importStocks;
+  @MockitoBean private ExportStocks exportStocks;
 
   @Test
   void shouldCreateStockSuccessfully() throws Exception {
@@ -67,6 +88,30 @@ class StockControllerTest {
     assertThat(stockCaptor.getValue()).usingRecursiveComparison().isEqualTo(request);
   }
 
+  @Test
+  void shouldCreateStocksInBatch() throws Exception {
+    final var request = List.of(new StockDto("BOLA-123-ABC", 10), new StockDto("BOLA-456-DEF", 5));
+    final var response =
+        List.of(
+            StockCreationDto.created(new Stock(1, "BOLA-123-ABC", 10)),
+            StockCreationDto.failed("BOLA-456-DEF", "NOT_FOUND", "Product not found."));
+
+    when(this.createStock.execute(request)).thenReturn(response);
+
+    mockMvc
+        .perform(
+            post(BATCH_URL)
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[0].errorCode").doesNotExist())
+        .andExpect(jsonPath("$[1].productSku").value("BOLA-456-DEF"))
+        .andExpect(jsonPath("$[1].errorCode").value("NOT_FOUND"));
+
+    verify(this.createStock).execute(request);
+  }
+
   @Test
   void shouldSearchStockSuccessfully() throws Exception {
     final var productSku = "BOLA-123-ABC";
@@ -97,6 +142,145 @@ class StockControllerTest {
     verify(this.searchStock).execute(productSku);
   }
 
+  @Test
+  void shouldLookupStocksSuccessfully() throws Exception {
+    final var productSkus = List.of("BOLA-123-ABC", "BOLA-456-DEF");
+    final var response =
+        new StockLookupDto(List.of(new Stock(1, "BOLA-123-ABC", 10)), List.of("BOLA-456-DEF"));
+
+    when(this.searchStocks.execute(productSkus)).thenReturn(response);
+
+    mockMvc
+        .perform(
+            post(LOOKUP_URL)
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(productSkus)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.stocks[0].productSku").value("BOLA-123-ABC"))
+        .andExpect(jsonPath("$.stocks[0].quantity").value(10))
+        .andExpect(jsonPath("$.missingSkus[0]").value("BOLA-456-DEF"));
+
+    verify(this.searchStocks).execute(productSkus);
+  }
+
+  @Test
+  void shouldLookupStocksByRepeatedSkuParams() throws Exception {
+    final var productSkus = List.of("BOLA-123-ABC", "BOLA-456-DEF");
+    final var response = new StockLookupDto(List.of(), productSkus);
+
+    when(this.searchStocks.execute(productSkus)).thenReturn(response);
+
+    mockMvc
+        .perform(get(LOOKUP_URL).param("sku", "BOLA-123-ABC").param("sku", "BOLA-456-DEF"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.stocks").isEmpty())
+        .andExpect(jsonPath("$.missingSkus[1]").value("BOLA-456-DEF"));
+
+    verify(this.searchStocks).execute(productSkus);
+  }
+
+  @Test
+  void shouldRejectLookupAboveMaximumSkus() throws Exception {
+    final var productSkus = IntStream.rangeClosed(0, 1000).mapToObj(it -> "SKU-" + it).toList();
+
+    mockMvc
+        .perform(
+            post(LOOKUP_URL)
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(productSkus)))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get(LOOKUP_URL).param("sku", productSkus.toArray(String[]::new)))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.searchStocks);
+  }
+
+  @Test
+  void shouldImportStocksSuccessfully() throws Exception {
+    final var response =
+        new StockImportResultDto(
+            1,
+            1,
+            List.of(new StockImportErrorDto(2, "BOLA-456-DEF", "Invalid available quantity=[x].")));
+
+    when(this.importStocks.execute(any())).thenReturn(response);
+
+    mockMvc
+        .perform(
+            post(IMPORT_URL).contentType("text/csv").content("BOLA-123-ABC,10\nBOLA-456-DEF,x\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.errors[0].line").value(2))
+        .andExpect(jsonPath("$.errors[0].productSku").value("BOLA-456-DEF"));
+
+    verify(this.importStocks).execute(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldExportStocksAsCsv() throws Exception {
+    final var updatedSince = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    doAnswer(
+            it -> {
+              final Consumer<Stock> consumer = it.getArgument(1);
+              consumer.accept(new Stock(1, "BOLA-123-ABC", 10));
+              consumer.accept(new Stock(2, "BOLA-456-DEF", 0));
+              return null;
+            })
+        .when(this.exportStocks)
+        .execute(eq(updatedSince), any(Consumer.class));
+
+    final var result =
+        mockMvc
+            .perform(
+                get(EXPORT_URL).param("format", "csv").param("updatedSince", "2025-01-01T10:00:00"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("text/csv"))
+        .andExpect(
+            content().string("id,productSku,quantity\n1,BOLA-123-ABC,10\n2,BOLA-456-DEF,0\n"));
+  }
+
+  @Test
+  void shouldRejectUnsupportedExportFormat() throws Exception {
+    mockMvc.perform(get(EXPORT_URL).param("format", "xml")).andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.exportStocks);
+  }
+
+  @Test
+  void shouldListStocksAfterSku() throws Exception {
+    final var response = new StockPageDto(List.of(new Stock(2, "BOLA-456-DEF", 3)), "BOLA-456-DEF");
+
+    when(this.searchStock.execute("BOLA-123-ABC", 5, 1)).thenReturn(response);
+
+    mockMvc
+        .perform(
+            get(BASE_URL)
+                .param("after", "BOLA-123-ABC")
+                .param("limit", "1")
+                .param("quantityBelow", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.stocks[0].productSku").value("BOLA-456-DEF"))
+        .andExpect(jsonPath("$.nextAfter").value("BOLA-456-DEF"));
+
+    verify(this.searchStock).execute("BOLA-123-ABC", 5, 1);
+  }
+
+  @Test
+  void shouldRejectListLimitAboveMaximum() throws Exception {
+    mockMvc.perform(get(BASE_URL).param("limit", "1001")).andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.searchStock);
+  }
+
   @Test
   void shouldUpdateStockSuccessfully() throws Exception {
     final var productSku = "BOLA-123-ABC";
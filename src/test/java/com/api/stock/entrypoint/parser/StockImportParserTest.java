@@ -0,0 +1,87 @@
+package com.api.stock.entrypoint.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.stock.core.dto.StockDto;
+import com.api.stock.core.dto.StockImportRowDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class StockImportParserTest {
+
+  private final StockImportParser parser = new StockImportParser(new ObjectMapper());
+
+  @Test
+  void shouldParseNdjsonLines() {
+    final var body =
+        """
+        {"productSku":"BOLA-123-ABC","availableQuantity":10}
+
+        {"productSku":
+        """;
+
+    final var response =
+        this.parser
+            .parse(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                MediaType.parseMediaType(StockImportParser.APPLICATION_NDJSON_VALUE))
+            .toList();
+
+    assertThat(response)
+        .containsExactly(
+            StockImportRowDto.valid(1, new StockDto("BOLA-123-ABC", 10)),
+            StockImportRowDto.invalid(3, null, "Malformed json line."));
+  }
+
+  @Test
+  void shouldParseCsvLinesSkippingHeader() {
+    final var body =
+        """
+        productSku,availableQuantity
+        BOLA-123-ABC, 10
+        BOLA-456-DEF,ten
+        BOLA-789-GHI
+        """;
+
+    final var response =
+        this.parser
+            .parse(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                MediaType.parseMediaType("text/csv;charset=UTF-8"))
+            .toList();
+
+    assertThat(response)
+        .containsExactly(
+            StockImportRowDto.valid(2, new StockDto("BOLA-123-ABC", 10)),
+            StockImportRowDto.invalid(3, "BOLA-456-DEF", "Invalid available quantity=[ten]."),
+            StockImportRowDto.invalid(4, null, "Expected 2 columns but found 1."));
+  }
+
+  @Test
+  void shouldParseQuotedCsvFieldsAsTheExportWritesThem() {
+    final var body =
+        """
+        "BOLA,123",10
+        "BOLA \"\"PRO\"\"", 5
+        "BOLA-456-DEF,3
+        "BOLA"-789,1
+        """;
+
+    final var response =
+        this.parser
+            .parse(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                MediaType.parseMediaType(StockImportParser.TEXT_CSV_VALUE))
+            .toList();
+
+    assertThat(response)
+        .containsExactly(
+            StockImportRowDto.valid(1, new StockDto("BOLA,123", 10)),
+            StockImportRowDto.valid(2, new StockDto("BOLA \"PRO\"", 5)),
+            StockImportRowDto.invalid(3, null, "Malformed quoted csv field."),
+            StockImportRowDto.invalid(4, null, "Malformed quoted csv field."));
+  }
+}
@@ -0,0 +1,191 @@
+package com.api.stock.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.config.RabbitMQConfig;
+import com.api.stock.event.StockReservedEvent;
+import com.api.stock.infra.gateway.exception.GatewayException;
+import com.api.stock.infra.messaging.MessageTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class RabbitMQEventPublisherTest {
+
+  private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<CorrelationData> correlations = new ArrayList<>();
+
+  @Test
+  void shouldPublishBufferedEventsInBatchesWithConfirms() {
+    final var publisher = this.publisher(10, 2);
+    this.sendThroughOneChannel();
+
+    publisher.publishAll(
+        List.of(
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true),
+            StockReservedEvent.of("order-2", "BOLA-123-ABC", false),
+            StockReservedEvent.of("order-3", "BOLA-123-ABC", true)));
+
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.backlog").gauge().value()).isEqualTo(3);
+    verifyNoInteractions(this.rabbitTemplate);
+
+    publisher.flush();
+
+    verify(this.rabbitTemplate, times(2)).invoke(any(RabbitOperations.OperationsCallback.class));
+    verify(this.rabbitTemplate)
+        .convertAndSend(
+            eq(RabbitMQConfig.EXCHANGE_NAME),
+            eq(RabbitMQConfig.STOCK_RESERVED_QUEUE),
+            eq(StockReservedEvent.of("order-1", "BOLA-123-ABC", true)),
+            any(CorrelationData.class));
+    assertThat(this.correlations).hasSize(3);
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.unconfirmed").gauge().value())
+        .isEqualTo(3);
+
+    this.correlations.forEach(
+        it -> it.getFuture().complete(new CorrelationData.Confirm(true, null)));
+
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.unconfirmed").gauge().value()).isZero();
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.confirm.latency").timer().count())
+        .isEqualTo(3);
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.backlog").gauge().value()).isZero();
+  }
+
+  @Test
+  void shouldRetryNackedAndReturnedEventsWithTheSameCorrelationId() {
+    final var publisher = this.publisher(10, 10);
+    this.sendThroughOneChannel();
+
+    publisher.publish(StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+    publisher.publish(StockReservedEvent.of("order-2", "BOLA-123-ABC", true));
+    publisher.flush();
+
+    this.correlations.get(0).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+    this.correlations
+        .get(1)
+        .setReturned(
+            new ReturnedMessage(
+                new Message(new byte[0], new MessageProperties()), 312, "NO_ROUTE", "", ""));
+    this.correlations.get(1).getFuture().complete(new CorrelationData.Confirm(true, null));
+
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.retries").counter().count()).isEqualTo(2);
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.backlog").gauge().value()).isEqualTo(2);
+
+    publisher.flush();
+
+    assertThat(this.correlations).hasSize(4);
+    assertThat(this.correlations.get(2).getId()).isEqualTo(this.correlations.get(0).getId());
+    assertThat(this.correlations.get(3).getId()).isEqualTo(this.correlations.get(1).getId());
+  }
+
+  @Test
+  void shouldKeepEventsBufferedInOrderWhileBrokerIsUnreachable() {
+    final var publisher = this.publisher(10, 10);
+    when(this.rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+        .thenThrow(new AmqpConnectException(new RuntimeException("connection refused")));
+
+    publisher.publish(StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+    publisher.publish(StockReservedEvent.of("order-2", "BOLA-123-ABC", true));
+    publisher.flush();
+    publisher.flush();
+
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.backlog").gauge().value()).isEqualTo(2);
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.failures").counter().count()).isZero();
+
+    reset(this.rabbitTemplate);
+    this.sendThroughOneChannel();
+    publisher.flush();
+
+    final ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(this.rabbitTemplate, times(2))
+        .convertAndSend(
+            any(String.class),
+            any(String.class),
+            eventCaptor.capture(),
+            any(CorrelationData.class));
+    assertThat(eventCaptor.getAllValues())
+        .containsExactly(
+            StockReservedEvent.of("order-1", "BOLA-123-ABC", true),
+            StockReservedEvent.of("order-2", "BOLA-123-ABC", true));
+  }
+
+  @Test
+  void shouldDropEventAfterMaxAttempts() {
+    final var publisher = this.publisher(10, 10);
+    this.sendThroughOneChannel();
+
+    publisher.publish(StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+    for (int i = 0; i < 3; i++) {
+      publisher.flush();
+      this.correlations.get(i).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+    }
+
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.retries").counter().count()).isEqualTo(2);
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.failures").counter().count())
+        .isEqualTo(1);
+    assertThat(this.meterRegistry.get("rabbitmq.publisher.backlog").gauge().value()).isZero();
+  }
+
+  @Test
+  void shouldRejectEventWhenBufferIsFull() {
+    final var publisher = this.publisher(1, 10);
+
+    publisher.publish(StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+
+    assertThatThrownBy(
+            () -> publisher.publish(StockReservedEvent.of("order-2", "BOLA-123-ABC", true)))
+        .isInstanceOf(GatewayException.class)
+        .hasMessageStartingWith("Failed to publish event: StockReservedEvent[eventId=")
+        .hasMessageEndingWith("version=1, orderId=order-2, success=true]");
+  }
+
+  private RabbitMQEventPublisher publisher(final int bufferCapacity, final int batchSize) {
+    @SuppressWarnings("unchecked")
+    final ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+    when(provider.getIfAvailable(any())).thenReturn(this.meterRegistry);
+
+    final var beans = new StaticListableBeanFactory();
+    final var messageTracing =
+        new MessageTracing(
+            beans.getBeanProvider(Tracer.class), beans.getBeanProvider(Propagator.class));
+
+    return new RabbitMQEventPublisher(
+        this.rabbitTemplate, messageTracing, bufferCapacity, batchSize, 3, 0, 60000, provider);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void sendThroughOneChannel() {
+    when(this.rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+        .thenAnswer(
+            it ->
+                ((RabbitOperations.OperationsCallback<Object>) it.getArgument(0))
+                    .doInRabbit(this.rabbitTemplate));
+    doAnswer(
+            it -> {
+              this.correlations.add(it.getArgument(3));
+              return null;
+            })
+        .when(this.rabbitTemplate)
+        .convertAndSend(
+            any(String.class), any(String.class), any(Object.class), any(CorrelationData.class));
+  }
+}
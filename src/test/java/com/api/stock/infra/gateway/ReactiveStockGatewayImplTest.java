@@ -0,0 +1,84 @@
+package com.api.stock.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.infra.gateway.exception.GatewayException;
+import io.r2dbc.spi.ConnectionFactories;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+class ReactiveStockGatewayImplTest {
+
+  private final DatabaseClient databaseClient =
+      DatabaseClient.create(
+          ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+  private final ReactiveStockGatewayImpl reactiveStockGateway =
+      new ReactiveStockGatewayImpl(this.databaseClient);
+
+  @BeforeEach
+  void setUp() {
+    this.databaseClient
+        .sql(
+            "CREATE TABLE stock (id INT PRIMARY KEY, product_sku VARCHAR(255) NOT NULL UNIQUE,"
+                + " available_quantity INT NOT NULL, version BIGINT NOT NULL)")
+        .then()
+        .block();
+
+    IntStream.rangeClosed(1, 600)
+        .forEach(
+            it ->
+                this.databaseClient
+                    .sql("INSERT INTO stock VALUES (:id, :productSku, :quantity, 0)")
+                    .bind("id", it)
+                    .bind("productSku", "SKU-" + it)
+                    .bind("quantity", it * 2)
+                    .then()
+                    .block());
+  }
+
+  @Test
+  void shouldFindStockByProductSku() {
+    final var stock = this.reactiveStockGateway.findByProductSku("SKU-7").block();
+
+    assertThat(stock.getId()).isEqualTo(7);
+    assertThat(stock.getProductSku()).isEqualTo("SKU-7");
+    assertThat(stock.getAvailableQuantity()).isEqualTo(14);
+    assertThat(stock.getVersion()).isZero();
+  }
+
+  @Test
+  void shouldCompleteEmptyWhenStockNotFound() {
+    assertThat(this.reactiveStockGateway.findByProductSku("MISSING").blockOptional()).isEmpty();
+  }
+
+  @Test
+  void shouldFindStocksInChunks() {
+    final var productSkus = IntStream.rangeClosed(1, 601).mapToObj(it -> "SKU-" + it).toList();
+
+    final var stocks =
+        this.reactiveStockGateway.findByProductSkus(productSkus).collectList().block();
+
+    assertThat(stocks).hasSize(600);
+    assertThat(stocks)
+        .filteredOn(it -> it.getProductSku().equals("SKU-550"))
+        .extracting(Stock::getId, Stock::getAvailableQuantity)
+        .containsExactly(tuple(550, 1100));
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenQueryFails() {
+    this.databaseClient.sql("DROP TABLE stock").then().block();
+
+    assertThatThrownBy(
+            () -> this.reactiveStockGateway.findByProductSkus(List.of("SKU-1")).blockLast())
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error finding stocks for skus=[SKU-1].");
+  }
+}
@@ -2,20 +2,33 @@ package com.api.stock.infra.gateway;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.*;
 
 import com.api.stock.core.domain.Stock;
+import com.api.stock.event.StockChangedEvent;
 import com.api.stock.infra.gateway.exception.GatewayException;
 import com.api.stock.infra.persistence.entity.StockEntity;
 import com.api.stock.infra.persistence.repository.StockRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 class StockGatewayImplTest {
 
   private final StockRepository stockRepository = mock(StockRepository.class);
-  private final StockGatewayImpl stockGateway = new StockGatewayImpl(this.stockRepository);
+  private final RabbitMQStockChangedPublisher stockChangedPublisher =
+      mock(RabbitMQStockChangedPublisher.class);
+  private final StockGatewayImpl stockGateway =
+      new StockGatewayImpl(this.stockRepository, this.stockChangedPublisher);
 
   @Test
   void shouldSaveStockSuccessfully() {
@@ -175,4 +188,294 @@ class StockGatewayImplTest {
         .isInstanceOf(GatewayException.class)
         .hasMessage("Error deleting stock for sku=[BOLA-123-ABC].");
   }
+
+  @Test
+  void shouldReserveStockSuccessfully() {
+    when(this.stockRepository.decreaseAvailableQuantity("BOLA-123-ABC", 2)).thenReturn(1);
+
+    final var response = this.stockGateway.reserve("BOLA-123-ABC", 2);
+
+    assertThat(response).isTrue();
+
+    verify(this.stockRepository).decreaseAvailableQuantity("BOLA-123-ABC", 2);
+    verifyNoMoreInteractions(this.stockRepository);
+  }
+
+  @Test
+  void shouldNotReserveStockWhenQuantityIsNotAvailable() {
+    when(this.stockRepository.decreaseAvailableQuantity("BOLA-123-ABC", 20)).thenReturn(0);
+
+    final var response = this.stockGateway.reserve("BOLA-123-ABC", 20);
+
+    assertThat(response).isFalse();
+
+    verify(this.stockRepository).decreaseAvailableQuantity("BOLA-123-ABC", 20);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenOccursErrorReservingStock() {
+    when(this.stockRepository.decreaseAvailableQuantity("BOLA-123-ABC", 2))
+        .thenThrow(IllegalArgumentException.class);
+
+    assertThatThrownBy(() -> this.stockGateway.reserve("BOLA-123-ABC", 2))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error reserving stock for sku=[BOLA-123-ABC].");
+  }
+
+  @Test
+  void shouldReleaseStockSuccessfully() {
+    when(this.stockRepository.increaseAvailableQuantity("BOLA-123-ABC", 2)).thenReturn(1);
+
+    final var response = this.stockGateway.release("BOLA-123-ABC", 2);
+
+    assertThat(response).isTrue();
+
+    verify(this.stockRepository).increaseAvailableQuantity("BOLA-123-ABC", 2);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenOccursErrorReleasingStock() {
+    when(this.stockRepository.increaseAvailableQuantity("BOLA-123-ABC", 2))
+        .thenThrow(IllegalArgumentException.class);
+
+    assertThatThrownBy(() -> this.stockGateway.release("BOLA-123-ABC", 2))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error releasing stock for sku=[BOLA-123-ABC].");
+  }
+
+  @Test
+  void shouldAdjustAvailableQuantitiesSuccessfully() {
+    this.stockGateway.adjustAvailableQuantities(Map.of("BOLA-123-ABC", -3, "BOLA-456-DEF", 2));
+
+    verify(this.stockRepository).adjustAvailableQuantity("BOLA-123-ABC", -3);
+    verify(this.stockRepository).adjustAvailableQuantity("BOLA-456-DEF", 2);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenOccursErrorAdjustingStock() {
+    when(this.stockRepository.adjustAvailableQuantity("BOLA-123-ABC", -3))
+        .thenThrow(IllegalArgumentException.class);
+
+    assertThatThrownBy(
+            () -> this.stockGateway.adjustAvailableQuantities(Map.of("BOLA-123-ABC", -3)))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error adjusting stock for skus=[BOLA-123-ABC].");
+  }
+
+  @Test
+  void shouldReserveAllAgainstASingleLockedRow() {
+    final var entity =
+        StockEntity.builder().id(1).productSku("BOLA-123-ABC").availableQuantity(10).build();
+
+    when(this.stockRepository.findForUpdateByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(entity));
+
+    final var response = this.stockGateway.reserveAll("BOLA-123-ABC", List.of(4, 7, 6));
+
+    assertThat(response).containsExactly(true, false, true);
+    assertThat(entity.getAvailableQuantity()).isZero();
+
+    verify(this.stockRepository).findForUpdateByProductSku("BOLA-123-ABC");
+    verifyNoMoreInteractions(this.stockRepository);
+  }
+
+  @Test
+  void shouldNotReserveAllWhenStockNotFound() {
+    when(this.stockRepository.findForUpdateByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.empty());
+
+    final var response = this.stockGateway.reserveAll("BOLA-123-ABC", List.of(1, 2));
+
+    assertThat(response).containsExactly(false, false);
+  }
+
+  @Test
+  void shouldPublishVersionedChangeWhenStockIsUpdated() {
+    final var entityFound =
+        StockEntity.builder()
+            .id(1)
+            .productSku("BOLA-123-ABC")
+            .availableQuantity(10)
+            .version(3L)
+            .build();
+    final var entityUpdated =
+        StockEntity.builder()
+            .id(1)
+            .productSku("BOLA-123-ABC")
+            .availableQuantity(20)
+            .version(4L)
+            .build();
+
+    when(this.stockRepository.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(entityFound));
+    when(this.stockRepository.save(any())).thenReturn(entityUpdated);
+
+    final var response = this.stockGateway.update(new Stock(1, "BOLA-123-ABC", 20));
+
+    assertThat(response.getVersion()).isEqualTo(4L);
+    verify(this.stockChangedPublisher).publish(new StockChangedEvent(1, "BOLA-123-ABC", 20, 4L));
+  }
+
+  @Test
+  void shouldPublishEvictionWhenStockIsReservedOrDeleted() {
+    when(this.stockRepository.decreaseAvailableQuantity("BOLA-123-ABC", 2)).thenReturn(1);
+
+    this.stockGateway.reserve("BOLA-123-ABC", 2);
+    this.stockGateway.deleteByProductSku("BOLA-123-ABC");
+
+    verify(this.stockChangedPublisher, times(2)).publish(StockChangedEvent.evict("BOLA-123-ABC"));
+  }
+
+  @Test
+  void shouldNotPublishChangeWhenReservationFails() {
+    when(this.stockRepository.decreaseAvailableQuantity("BOLA-123-ABC", 20)).thenReturn(0);
+
+    this.stockGateway.reserve("BOLA-123-ABC", 20);
+
+    verifyNoInteractions(this.stockChangedPublisher);
+  }
+
+  @Test
+  void shouldFindStocksByProductSkusInChunks() {
+    final var productSkus = IntStream.range(0, 501).mapToObj(it -> "SKU-" + it).toList();
+    final var entity =
+        StockEntity.builder().id(1).productSku("SKU-0").availableQuantity(10).version(0L).build();
+
+    when(this.stockRepository.findByProductSkuIn(productSkus.subList(0, 500)))
+        .thenReturn(List.of(entity));
+    when(this.stockRepository.findByProductSkuIn(productSkus.subList(500, 501)))
+        .thenReturn(List.of());
+
+    final var response = this.stockGateway.findByProductSkus(productSkus);
+
+    assertThat(response).hasSize(1);
+    assertThat(response.getFirst().getProductSku()).isEqualTo("SKU-0");
+
+    verify(this.stockRepository, times(2)).findByProductSkuIn(any());
+  }
+
+  @Test
+  void shouldUpsertStocksUpdatingExistingAndInsertingNew() {
+    final var existing =
+        StockEntity.builder()
+            .id(1)
+            .productSku("BOLA-123-ABC")
+            .availableQuantity(10)
+            .version(0L)
+            .build();
+
+    when(this.stockRepository.findByProductSkuIn(List.of("BOLA-123-ABC", "BOLA-456-DEF")))
+        .thenReturn(List.of(existing));
+    when(this.stockRepository.saveAll(any())).thenAnswer(it -> it.getArgument(0));
+
+    final var response =
+        this.stockGateway.upsertAll(
+            List.of(Stock.createStock("BOLA-123-ABC", 7), Stock.createStock("BOLA-456-DEF", 3)));
+
+    assertThat(response)
+        .extracting(Stock::getProductSku, Stock::getAvailableQuantity)
+        .containsExactly(tuple("BOLA-123-ABC", 7), tuple("BOLA-456-DEF", 3));
+    assertThat(response.getFirst().getId()).isEqualTo(1);
+
+    verify(this.stockRepository).flush();
+    verify(this.stockChangedPublisher).publish(StockChangedEvent.evict("BOLA-123-ABC"));
+    verify(this.stockChangedPublisher).publish(StockChangedEvent.evict("BOLA-456-DEF"));
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenUpsertFails() {
+    when(this.stockRepository.findByProductSkuIn(List.of("BOLA-123-ABC"))).thenReturn(List.of());
+    when(this.stockRepository.saveAll(any()))
+        .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+    assertThatThrownBy(
+            () -> this.stockGateway.upsertAll(List.of(Stock.createStock("BOLA-123-ABC", 7))))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error upserting stocks for skus=[BOLA-123-ABC].");
+
+    verifyNoInteractions(this.stockChangedPublisher);
+  }
+
+  @Test
+  void shouldExportAllStocksWhenUpdatedSinceIsMissing() {
+    final var stock = new Stock(1, "BOLA-123-ABC", 10, 0L);
+    final List<Stock> exported = new ArrayList<>();
+
+    when(this.stockRepository.streamAll()).thenReturn(Stream.of(stock));
+
+    this.stockGateway.exportAll(null, exported::add);
+
+    assertThat(exported).containsExactly(stock);
+
+    verify(this.stockRepository).streamAll();
+    verifyNoMoreInteractions(this.stockRepository);
+  }
+
+  @Test
+  void shouldExportStocksUpdatedSince() {
+    final var updatedSince = LocalDateTime.of(2025, 1, 1, 0, 0);
+    final List<Stock> exported = new ArrayList<>();
+
+    when(this.stockRepository.streamUpdatedSince(updatedSince)).thenReturn(Stream.empty());
+
+    this.stockGateway.exportAll(updatedSince, exported::add);
+
+    assertThat(exported).isEmpty();
+
+    verify(this.stockRepository).streamUpdatedSince(updatedSince);
+  }
+
+  @Test
+  void shouldFindStockPageAfterSku() {
+    final var entity =
+        StockEntity.builder()
+            .id(2)
+            .productSku("BOLA-456-DEF")
+            .availableQuantity(3)
+            .version(0L)
+            .build();
+
+    when(this.stockRepository.findPageAfter("BOLA-123-ABC", 5, Limit.of(11)))
+        .thenReturn(List.of(entity));
+
+    final var response = this.stockGateway.findPage("BOLA-123-ABC", 5, 11);
+
+    assertThat(response)
+        .extracting(Stock::getProductSku, Stock::getAvailableQuantity)
+        .containsExactly(tuple("BOLA-456-DEF", 3));
+
+    verify(this.stockRepository).findPageAfter("BOLA-123-ABC", 5, Limit.of(11));
+  }
+
+  @Test
+  void shouldFindFirstStockPageWhenAfterIsMissing() {
+    when(this.stockRepository.findFirstPage(null, Limit.of(11))).thenReturn(List.of());
+
+    final var response = this.stockGateway.findPage(null, null, 11);
+
+    assertThat(response).isEmpty();
+
+    verify(this.stockRepository).findFirstPage(null, Limit.of(11));
+    verifyNoMoreInteractions(this.stockRepository);
+  }
+
+  @Test
+  void shouldSaveAllStocksInOneBatch() {
+    when(this.stockRepository.saveAll(any()))
+        .thenAnswer(
+            it -> {
+              final List<StockEntity> entities = it.getArgument(0);
+              entities.forEach(entity -> entity.setId(1));
+              return entities;
+            });
+
+    final var response = this.stockGateway.saveAll(List.of(Stock.createStock("BOLA-123-ABC", 7)));
+
+    assertThat(response)
+        .extracting(Stock::getId, Stock::getProductSku)
+        .containsExactly(tuple(1, "BOLA-123-ABC"));
+
+    verify(this.stockRepository).flush();
+    verify(this.stockChangedPublisher).publish(StockChangedEvent.evict("BOLA-123-ABC"));
+  }
 }
@@ -0,0 +1,124 @@
+package com.api.stock.infra.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.ReservationState;
+import com.api.stock.core.domain.StockReservation;
+import com.api.stock.core.usecase.exception.ReservationAlreadyExistsException;
+import com.api.stock.infra.gateway.exception.GatewayException;
+import com.api.stock.infra.persistence.entity.StockReservationEntity;
+import com.api.stock.infra.persistence.repository.StockReservationRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class StockReservationGatewayImplTest {
+
+  private final StockReservationRepository stockReservationRepository =
+      mock(StockReservationRepository.class);
+  private final StockReservationGatewayImpl stockReservationGateway =
+      new StockReservationGatewayImpl(this.stockReservationRepository);
+
+  @Test
+  void shouldSaveReservationSuccessfully() {
+    final var reservation = StockReservation.createReservation("order-123", "BOLA-123-ABC", 2);
+    final var entityResponse = this.entity(1L, ReservationState.RESERVED);
+    final ArgumentCaptor<StockReservationEntity> entityCaptor =
+        ArgumentCaptor.forClass(StockReservationEntity.class);
+
+    when(this.stockReservationRepository.saveAndFlush(entityCaptor.capture()))
+        .thenReturn(entityResponse);
+
+    final var response = this.stockReservationGateway.save(reservation);
+
+    assertThat(response).usingRecursiveComparison().isEqualTo(entityResponse);
+
+    final var entityCaptured = entityCaptor.getValue();
+    assertThat(entityCaptured.getId()).isNull();
+    assertThat(entityCaptured.getOrderId()).isEqualTo("order-123");
+    assertThat(entityCaptured.getProductSku()).isEqualTo("BOLA-123-ABC");
+    assertThat(entityCaptured.getQuantity()).isEqualTo(2);
+    assertThat(entityCaptured.getState()).isEqualTo(ReservationState.RESERVED);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenReservationAlreadyExists() {
+    final var reservation = StockReservation.createReservation("order-123", "BOLA-123-ABC", 2);
+
+    when(this.stockReservationRepository.saveAndFlush(any()))
+        .thenThrow(DataIntegrityViolationException.class);
+
+    assertThatThrownBy(() -> this.stockReservationGateway.save(reservation))
+        .isInstanceOf(ReservationAlreadyExistsException.class)
+        .hasMessage("Reservation for orderId=[order-123] and sku=[BOLA-123-ABC] already exists.");
+  }
+
+  @Test
+  void shouldFindReservationsByOrderIdSuccessfully() {
+    final var entity = this.entity(1L, ReservationState.RESERVED);
+
+    when(this.stockReservationRepository.findByOrderId("order-123")).thenReturn(List.of(entity));
+
+    final var response = this.stockReservationGateway.findByOrderId("order-123");
+
+    assertThat(response).hasSize(1);
+    assertThat(response.getFirst()).usingRecursiveComparison().isEqualTo(entity);
+  }
+
+  @Test
+  void shouldUpdateReservationStateSuccessfully() {
+    final var entityFound = this.entity(1L, ReservationState.RESERVED);
+    final var reservation =
+        new StockReservation(
+            1L, "order-123", "BOLA-123-ABC", 2, ReservationState.RELEASED, null, null);
+
+    when(this.stockReservationRepository.findById(1L)).thenReturn(Optional.of(entityFound));
+    when(this.stockReservationRepository.save(entityFound)).thenReturn(entityFound);
+
+    final var response = this.stockReservationGateway.update(reservation);
+
+    assertThat(response.getState()).isEqualTo(ReservationState.RELEASED);
+    assertThat(entityFound.getState()).isEqualTo(ReservationState.RELEASED);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenUpdateReservationAndReservationNotFound() {
+    final var reservation =
+        new StockReservation(
+            1L, "order-123", "BOLA-123-ABC", 2, ReservationState.RELEASED, null, null);
+
+    when(this.stockReservationRepository.findById(1L)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> this.stockReservationGateway.update(reservation))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Reservation with id=[1] not found.");
+  }
+
+  @Test
+  void shouldReleaseReservationOnlyWhenItIsStillReserved() {
+    final var reservation =
+        new StockReservation(
+            1L, "order-123", "BOLA-123-ABC", 2, ReservationState.RESERVED, null, null);
+
+    when(this.stockReservationRepository.updateState(
+            1L, ReservationState.RESERVED, ReservationState.RELEASED))
+        .thenReturn(1, 0);
+
+    assertThat(this.stockReservationGateway.release(reservation)).isTrue();
+    assertThat(this.stockReservationGateway.release(reservation)).isFalse();
+  }
+
+  private StockReservationEntity entity(final Long id, final ReservationState state) {
+    return StockReservationEntity.builder()
+        .id(id)
+        .orderId("order-123")
+        .productSku("BOLA-123-ABC")
+        .quantity(2)
+        .state(state)
+        .build();
+  }
+}
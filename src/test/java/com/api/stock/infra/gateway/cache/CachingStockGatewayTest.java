@@ -0,0 +1,156 @@
+package com.api.stock.infra.gateway.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.event.StockChangedEvent;
+import com.api.stock.infra.gateway.StockGatewayImpl;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class CachingStockGatewayTest {
+
+  private final StockGatewayImpl delegate = mock(StockGatewayImpl.class);
+
+  @SuppressWarnings("unchecked")
+  private final CachingStockGateway stockGateway =
+      new CachingStockGateway(this.delegate, 100, 60000, mock(ObjectProvider.class));
+
+  @Test
+  void shouldServeRepeatedReadsFromCache() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+
+    final var first = this.stockGateway.findByProductSku("BOLA-123-ABC");
+    final var second = this.stockGateway.findByProductSku("BOLA-123-ABC");
+
+    assertThat(first).isPresent();
+    assertThat(second.get()).usingRecursiveComparison().isEqualTo(first.get());
+    assertThat(second.get()).isNotSameAs(first.get());
+
+    verify(this.delegate).findByProductSku("BOLA-123-ABC");
+    assertThat(this.stockGateway.stats().hitCount()).isEqualTo(1);
+    assertThat(this.stockGateway.stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCacheMissingStock() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC")).thenReturn(Optional.empty());
+
+    assertThat(this.stockGateway.findByProductSku("BOLA-123-ABC")).isEmpty();
+    assertThat(this.stockGateway.findByProductSku("BOLA-123-ABC")).isEmpty();
+
+    verify(this.delegate).findByProductSku("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldNotLeakMutationsOfReturnedStockIntoCache() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+
+    this.stockGateway.findByProductSku("BOLA-123-ABC").get().reserve(5);
+
+    assertThat(this.stockGateway.findByProductSku("BOLA-123-ABC").get().getAvailableQuantity())
+        .isEqualTo(10);
+  }
+
+  @Test
+  void shouldEvictOnEveryMutation() {
+    final var stock = new Stock(1, "BOLA-123-ABC", 10);
+
+    when(this.delegate.findByProductSku("BOLA-123-ABC")).thenReturn(Optional.of(stock));
+    when(this.delegate.reserve("BOLA-123-ABC", 1)).thenReturn(true);
+    when(this.delegate.reserveAll("BOLA-123-ABC", List.of(1))).thenReturn(List.of(true));
+    when(this.delegate.release("BOLA-123-ABC", 1)).thenReturn(true);
+
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.save(stock);
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.update(stock);
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.reserve("BOLA-123-ABC", 1);
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.reserveAll("BOLA-123-ABC", List.of(1));
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.release("BOLA-123-ABC", 1);
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.adjustAvailableQuantities(Map.of("BOLA-123-ABC", -1));
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.deleteByProductSku("BOLA-123-ABC");
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+
+    verify(this.delegate, times(8)).findByProductSku("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldKeepCacheWhenReservationFails() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    when(this.delegate.reserve("BOLA-123-ABC", 20)).thenReturn(false);
+
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.reserve("BOLA-123-ABC", 20);
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+
+    verify(this.delegate).findByProductSku("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldRefreshCachedStockWithNewerVersion() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10, 3L)));
+
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.refresh(new StockChangedEvent(1, "BOLA-123-ABC", 7, 5L));
+    this.stockGateway.refresh(new StockChangedEvent(1, "BOLA-123-ABC", 9, 4L));
+
+    final var response = this.stockGateway.findByProductSku("BOLA-123-ABC");
+
+    assertThat(response.get().getAvailableQuantity()).isEqualTo(7);
+    assertThat(response.get().getVersion()).isEqualTo(5L);
+    verify(this.delegate).findByProductSku("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldEvictCachedStockOnEvictionChange() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10, 3L)));
+
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    this.stockGateway.refresh(StockChangedEvent.evict("BOLA-123-ABC"));
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+
+    verify(this.delegate, times(2)).findByProductSku("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldNotPopulateCacheFromChanges() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC")).thenReturn(Optional.empty());
+
+    this.stockGateway.refresh(new StockChangedEvent(1, "BOLA-123-ABC", 7, 5L));
+
+    assertThat(this.stockGateway.findByProductSku("BOLA-123-ABC")).isEmpty();
+  }
+
+  @Test
+  void shouldLoadOnlyUncachedSkusOnBulkLookup() {
+    when(this.delegate.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    when(this.delegate.findByProductSkus(List.of("BOLA-456-DEF"))).thenReturn(List.of());
+
+    this.stockGateway.findByProductSku("BOLA-123-ABC");
+    final var response =
+        this.stockGateway.findByProductSkus(List.of("BOLA-123-ABC", "BOLA-456-DEF"));
+    this.stockGateway.findByProductSkus(List.of("BOLA-123-ABC", "BOLA-456-DEF"));
+
+    assertThat(response).extracting(Stock::getProductSku).containsExactly("BOLA-123-ABC");
+
+    verify(this.delegate).findByProductSku("BOLA-123-ABC");
+    verify(this.delegate).findByProductSkus(List.of("BOLA-456-DEF"));
+    verifyNoMoreInteractions(this.delegate);
+  }
+}
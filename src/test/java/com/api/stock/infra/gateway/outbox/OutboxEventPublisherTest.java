@@ -0,0 +1,94 @@
+package com.api.stock.infra.gateway.outbox;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.config.RabbitMQConfig;
+import com.api.stock.event.StockReservedEvent;
+import com.api.stock.infra.gateway.exception.GatewayException;
+import com.api.stock.infra.messaging.MessageTracing;
+import com.api.stock.infra.persistence.entity.OutboxEventEntity;
+import com.api.stock.infra.persistence.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class OutboxEventPublisherTest {
+
+  private static final String PAYLOAD =
+      "{\"eventId\":\"%s\",\"version\":1,\"orderId\":\"%s\",\"success\":%s}";
+
+  private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+  private final MessageTracing messageTracing = mock(MessageTracing.class);
+  private final OutboxEventPublisher outboxEventPublisher =
+      new OutboxEventPublisher(this.outboxEventRepository, new ObjectMapper(), this.messageTracing);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldWriteEventsToOutboxKeyedByOrder() {
+    final var reserved = StockReservedEvent.of("order-1", "BOLA-123-ABC", true);
+    final var rejected = StockReservedEvent.of("order-2", "BOLA-123-ABC", false);
+
+    this.outboxEventPublisher.publishAll(List.of(reserved, rejected));
+
+    final ArgumentCaptor<List<OutboxEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+    verify(this.outboxEventRepository).saveAll(captor.capture());
+
+    assertThat(captor.getValue())
+        .extracting(
+            OutboxEventEntity::getAggregateKey,
+            OutboxEventEntity::getExchange,
+            OutboxEventEntity::getRoutingKey,
+            OutboxEventEntity::getEventType,
+            OutboxEventEntity::getPayload)
+        .containsExactly(
+            tuple(
+                "order-1",
+                RabbitMQConfig.EXCHANGE_NAME,
+                RabbitMQConfig.STOCK_RESERVED_QUEUE,
+                StockReservedEvent.class.getName(),
+                format(PAYLOAD, reserved.eventId(), "order-1", true)),
+            tuple(
+                "order-2",
+                RabbitMQConfig.EXCHANGE_NAME,
+                RabbitMQConfig.STOCK_RESERVED_QUEUE,
+                StockReservedEvent.class.getName(),
+                format(PAYLOAD, rejected.eventId(), "order-2", false)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldStoreTraceContextOfTheCaller() {
+    when(this.messageTracing.capture())
+        .thenReturn(
+            Map.of("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01"));
+
+    this.outboxEventPublisher.publish(StockReservedEvent.of("order-1", "BOLA-123-ABC", true));
+
+    final ArgumentCaptor<List<OutboxEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+    verify(this.outboxEventRepository).saveAll(captor.capture());
+
+    assertThat(captor.getValue().getFirst().getTraceContext())
+        .isEqualTo("{\"traceparent\":\"00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01\"}");
+  }
+
+  @Test
+  void shouldThrowGatewayExceptionWhenOutboxWriteFails() {
+    when(this.outboxEventRepository.saveAll(any()))
+        .thenThrow(new DataIntegrityViolationException("error"));
+
+    assertThatThrownBy(
+            () ->
+                this.outboxEventPublisher.publish(
+                    StockReservedEvent.of("order-1", "BOLA-123-ABC", true)))
+        .isInstanceOf(GatewayException.class)
+        .hasMessage("Error saving 1 events to the outbox.");
+  }
+}
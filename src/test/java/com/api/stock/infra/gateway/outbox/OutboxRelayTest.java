@@ -0,0 +1,176 @@
+package com.api.stock.infra.gateway.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.infra.messaging.ConsumerLagRecorder;
+import com.api.stock.infra.messaging.MessageTracing;
+import com.api.stock.infra.persistence.entity.OutboxEventEntity;
+import com.api.stock.infra.persistence.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+class OutboxRelayTest {
+
+  private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+  private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+  private final MessageTracing messageTracing = mock(MessageTracing.class);
+  private final OutboxRelay outboxRelay =
+      new OutboxRelay(
+          this.outboxEventRepository,
+          this.rabbitTemplate,
+          TransactionOperations.withoutTransaction(),
+          this.messageTracing,
+          new ObjectMapper(),
+          2,
+          50);
+
+  @BeforeEach
+  void setUp() {
+    doAnswer(
+            it -> {
+              it.<Runnable>getArgument(3).run();
+              return null;
+            })
+        .when(this.messageTracing)
+        .send(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldPublishAndDeleteConfirmedEventsInBatches() {
+    when(this.outboxEventRepository.findNextBatch(Limit.of(2)))
+        .thenReturn(List.of(this.event(1L, "order-1"), this.event(2L, "order-2")))
+        .thenReturn(List.of(this.event(3L, "order-1")));
+    this.confirmSends(true);
+
+    this.outboxRelay.relay();
+
+    final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+    verify(this.rabbitTemplate, times(3))
+        .send(eq("order.events"), eq("stock-reserved"), messageCaptor.capture(), any());
+
+    final var message = messageCaptor.getAllValues().getFirst();
+    assertThat(new String(message.getBody(), StandardCharsets.UTF_8))
+        .isEqualTo("{\"orderId\":\"order-1\",\"success\":true}");
+    assertThat(message.getMessageProperties().getMessageId()).isEqualTo("1");
+    assertThat(message.getMessageProperties().getDeliveryMode())
+        .isEqualTo(MessageDeliveryMode.PERSISTENT);
+    assertThat(message.getMessageProperties().getHeaders())
+        .containsEntry("__TypeId__", "com.api.stock.event.StockReservedEvent");
+
+    final ArgumentCaptor<List<Long>> deletedCaptor = ArgumentCaptor.forClass(List.class);
+    verify(this.outboxEventRepository, times(2)).deleteAllByIdInBatch(deletedCaptor.capture());
+    assertThat(deletedCaptor.getAllValues()).containsExactly(List.of(1L, 2L), List.of(3L));
+  }
+
+  @Test
+  void shouldContinueTraceStoredWithEvent() {
+    final var createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+    final var event = this.event(1L, "order-1");
+    event.setCreatedAt(createdAt);
+    event.setTraceContext(
+        "{\"traceparent\":\"00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01\"}");
+    when(this.outboxEventRepository.findNextBatch(Limit.of(2))).thenReturn(List.of(event));
+    this.confirmSends(true);
+
+    this.outboxRelay.relay();
+
+    verify(this.messageTracing)
+        .send(
+            eq(Map.of("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01")),
+            eq("outbox relay"),
+            eq(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()),
+            any());
+    verify(this.rabbitTemplate).send(eq("order.events"), eq("stock-reserved"), any(), any());
+  }
+
+  @Test
+  void shouldStampCreationTimeInMillisForConsumerLag() {
+    final var createdAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 250_000_000);
+    final var event = this.event(1L, "order-1");
+    event.setCreatedAt(createdAt);
+    when(this.outboxEventRepository.findNextBatch(Limit.of(2))).thenReturn(List.of(event));
+    this.confirmSends(true);
+
+    this.outboxRelay.relay();
+
+    final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+    verify(this.rabbitTemplate).send(any(), any(), messageCaptor.capture(), any());
+
+    assertThat(
+            messageCaptor
+                .getValue()
+                .getMessageProperties()
+                .<Long>getHeader(ConsumerLagRecorder.PUBLISHED_AT_HEADER))
+        .isEqualTo(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+  }
+
+  @Test
+  void shouldKeepEventsThatWereNotConfirmed() {
+    when(this.outboxEventRepository.findNextBatch(Limit.of(2)))
+        .thenReturn(List.of(this.event(1L, "order-1")));
+    this.confirmSends(false);
+
+    this.outboxRelay.relay();
+
+    verify(this.outboxEventRepository).deleteAllByIdInBatch(List.of());
+  }
+
+  @Test
+  void shouldKeepEventsWhenBrokerIsUnreachable() {
+    when(this.outboxEventRepository.findNextBatch(Limit.of(2)))
+        .thenReturn(List.of(this.event(1L, "order-1")));
+    when(this.rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+        .thenThrow(new AmqpConnectException(new RuntimeException("connection refused")));
+
+    this.outboxRelay.relay();
+
+    verify(this.outboxEventRepository, never()).deleteAllByIdInBatch(any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void confirmSends(final boolean ack) {
+    when(this.rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+        .thenAnswer(
+            it ->
+                ((RabbitOperations.OperationsCallback<Object>) it.getArgument(0))
+                    .doInRabbit(this.rabbitTemplate));
+    doAnswer(
+            it -> {
+              final CorrelationData correlation = it.getArgument(3);
+              correlation.getFuture().complete(new CorrelationData.Confirm(ack, null));
+              return null;
+            })
+        .when(this.rabbitTemplate)
+        .send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+  }
+
+  private OutboxEventEntity event(final Long id, final String orderId) {
+    return OutboxEventEntity.builder()
+        .id(id)
+        .aggregateKey(orderId)
+        .exchange("order.events")
+        .routingKey("stock-reserved")
+        .eventType("com.api.stock.event.StockReservedEvent")
+        .payload("{\"orderId\":\"" + orderId + "\",\"success\":true}")
+        .build();
+  }
+}
@@ -0,0 +1,252 @@
+package com.api.stock.infra.gateway.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.infra.gateway.exception.GatewayException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class ProductApiServiceGatewayTest {
+
+  private static final String PRODUCT_JSON = "{\"name\":\"Bola de futebol\",\"sku\":\"%s\"}";
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  void shouldCacheProductDetails() {
+    final var gateway = this.gateway("", request -> this.product("BOLA-123-ABC"));
+
+    final var first = gateway.getProductDetails("BOLA-123-ABC");
+    final var second = gateway.getProductDetails("BOLA-123-ABC");
+
+    assertThat(first).isNotNull();
+    assertThat(second).isSameAs(first);
+    assertThat(this.calls).hasValue(1);
+  }
+
+  @Test
+  void shouldCacheProductNotFound() {
+    final var gateway = this.gateway("", request -> this.status(HttpStatus.NOT_FOUND));
+
+    assertThat(gateway.getProductDetails("BOLA-123-ABC")).isNull();
+    assertThat(gateway.getProductDetails("BOLA-123-ABC")).isNull();
+    assertThat(this.calls).hasValue(1);
+  }
+
+  @Test
+  void shouldShareInFlightRequestForTheSameSku() {
+    final var gateway =
+        this.gateway(
+            "",
+            request -> {
+              sleep();
+              return this.product("BOLA-123-ABC");
+            });
+
+    final var first =
+        CompletableFuture.supplyAsync(() -> gateway.getProductDetails("BOLA-123-ABC"));
+    final var second =
+        CompletableFuture.supplyAsync(() -> gateway.getProductDetails("BOLA-123-ABC"));
+
+    assertThat(first.join()).isSameAs(second.join());
+    assertThat(this.calls).hasValue(1);
+  }
+
+  @Test
+  void shouldNotCacheFailures() {
+    final var gateway = this.gateway("", request -> this.status(HttpStatus.INTERNAL_SERVER_ERROR));
+
+    assertThatThrownBy(() -> gateway.getProductDetails("BOLA-123-ABC"))
+        .isInstanceOf(GatewayException.class)
+        .hasMessageStartingWith("Failed to access Product API=");
+    assertThatThrownBy(() -> gateway.getProductDetails("BOLA-123-ABC"))
+        .isInstanceOf(GatewayException.class);
+
+    assertThat(this.calls).hasValue(2);
+  }
+
+  @Test
+  void shouldFanOutBulkLookupPerSku() {
+    final var gateway =
+        this.gateway(
+            "",
+            request -> {
+              final var path = request.url().getPath();
+              if (path.endsWith("BOLA-123-ABC")) {
+                return this.product("BOLA-123-ABC");
+              }
+
+              return path.endsWith("BOLA-456-DEF")
+                  ? this.status(HttpStatus.NOT_FOUND)
+                  : this.status(HttpStatus.INTERNAL_SERVER_ERROR);
+            });
+
+    final var response =
+        gateway.getProductDetails(
+            List.of("BOLA-123-ABC", "BOLA-456-DEF", "BOLA-789-GHI", "BOLA-123-ABC"));
+
+    assertThat(response).containsOnlyKeys("BOLA-123-ABC", "BOLA-456-DEF");
+    assertThat(response.get("BOLA-123-ABC")).isPresent();
+    assertThat(response.get("BOLA-456-DEF")).isEmpty();
+    assertThat(this.calls).hasValue(3);
+
+    gateway.getProductDetails(List.of("BOLA-123-ABC", "BOLA-456-DEF"));
+
+    assertThat(this.calls).hasValue(3);
+  }
+
+  @Test
+  void shouldUseBatchEndpointWhenConfigured() {
+    final var gateway =
+        this.gateway(
+            "/batch",
+            request -> {
+              assertThat(request.method()).isEqualTo(HttpMethod.POST);
+              assertThat(request.url().getPath()).isEqualTo("/api/products/batch");
+
+              return this.json("[" + PRODUCT_JSON.formatted("BOLA-123-ABC") + "]");
+            });
+
+    final var response = gateway.getProductDetails(List.of("BOLA-123-ABC", "BOLA-456-DEF"));
+
+    assertThat(response).containsOnlyKeys("BOLA-123-ABC", "BOLA-456-DEF");
+    assertThat(response.get("BOLA-123-ABC")).isPresent();
+    assertThat(response.get("BOLA-456-DEF")).isEmpty();
+    assertThat(this.calls).hasValue(1);
+
+    assertThat(gateway.getProductDetails("BOLA-456-DEF")).isNull();
+    assertThat(this.calls).hasValue(1);
+  }
+
+  private ProductApiServiceGateway gateway(
+      final String batchPath, final Function<ClientRequest, ClientResponse> responder) {
+    return this.gateway(batchPath, ProductApiFallback.FAIL_FAST, 60000, responder);
+  }
+
+  @SuppressWarnings("unchecked")
+  private ProductApiServiceGateway gateway(
+      final String batchPath,
+      final ProductApiFallback fallback,
+      final long ttl,
+      final Function<ClientRequest, ClientResponse> responder) {
+    final var webClient =
+        WebClient.builder()
+            .baseUrl("http://product/api/products")
+            .exchangeFunction(
+                request -> {
+                  this.calls.incrementAndGet();
+
+                  return Mono.fromCallable(() -> responder.apply(request));
+                })
+            .build();
+
+    final var resilience =
+        new ProductApiResilience(
+            "product-api", 500, 8, 50, 1000, 4, 60000, mock(ObjectProvider.class));
+
+    return new ProductApiServiceGateway(
+        webClient,
+        resilience,
+        fallback,
+        60000,
+        100,
+        ttl,
+        ttl,
+        4,
+        100,
+        batchPath,
+        mock(ObjectProvider.class));
+  }
+
+  @Test
+  void shouldFailFastOnceTheCircuitIsOpen() {
+    final var gateway = this.gateway("", request -> this.status(HttpStatus.SERVICE_UNAVAILABLE));
+
+    for (int i = 0; i < 4; i++) {
+      final var sku = "BOLA-" + i;
+      assertThatThrownBy(() -> gateway.getProductDetails(sku)).isInstanceOf(GatewayException.class);
+    }
+
+    assertThatThrownBy(() -> gateway.getProductDetails("BOLA-123-ABC"))
+        .isInstanceOf(GatewayException.class)
+        .hasMessageContaining("does not permit further calls");
+    assertThat(this.calls).hasValue(4);
+  }
+
+  @Test
+  void shouldTimeOutSlowProductApi() {
+    final var gateway =
+        this.gateway(
+            "",
+            request -> {
+              sleep();
+              sleep();
+              sleep();
+              return this.product("BOLA-123-ABC");
+            });
+
+    assertThatThrownBy(() -> gateway.getProductDetails("BOLA-123-ABC"))
+        .isInstanceOf(GatewayException.class)
+        .hasMessageContaining("500ms");
+  }
+
+  @Test
+  void shouldAnswerFromLastKnownProductWhenFallbackIsCacheOnly() {
+    final var failing = new AtomicInteger();
+    final var gateway =
+        this.gateway(
+            "",
+            ProductApiFallback.CACHE_ONLY,
+            0,
+            request ->
+                failing.getAndIncrement() == 0
+                    ? this.product("BOLA-123-ABC")
+                    : this.status(HttpStatus.SERVICE_UNAVAILABLE));
+
+    final var first = gateway.getProductDetails("BOLA-123-ABC");
+    final var second = gateway.getProductDetails("BOLA-123-ABC");
+    final var bulk = gateway.getProductDetails(List.of("BOLA-123-ABC", "BOLA-456-DEF"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(bulk).containsOnlyKeys("BOLA-123-ABC");
+    assertThat(this.calls).hasValue(4);
+  }
+
+  private ClientResponse product(final String productSku) {
+    return this.json(PRODUCT_JSON.formatted(productSku));
+  }
+
+  private ClientResponse json(final String body) {
+    return ClientResponse.create(HttpStatus.OK)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .body(body)
+        .build();
+  }
+
+  private ClientResponse status(final HttpStatus status) {
+    return ClientResponse.create(status).build();
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(Duration.ofMillis(200));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
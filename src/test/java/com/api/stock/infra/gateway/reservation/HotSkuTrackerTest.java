@@ -0,0 +1,150 @@
+package com.api.stock.infra.gateway.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.stock.core.domain.ReservationOutcome;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class HotSkuTrackerTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  void shouldReportHottestSkusWithRatesAndLockWait() {
+    final var tracker = this.tracker(2, 10);
+
+    for (int i = 0; i < 6; i++) {
+      tracker.reserved("BOLA-123-ABC", ReservationOutcome.RESERVED, 2_000_000);
+      tracker.stockUpdated("BOLA-123-ABC", 1_000_000);
+    }
+    tracker.reserved("BOLA-123-ABC", ReservationOutcome.INSUFFICIENT_STOCK, 2_000_000);
+    tracker.stockUpdated("BOLA-123-ABC", 8_000_000);
+    tracker.replayed("BOLA-123-ABC");
+    for (int i = 0; i < 3; i++) {
+      tracker.reserved("BOLA-456-DEF", ReservationOutcome.RESERVED, 1_000_000);
+    }
+    tracker.reserved("BOLA-789-GHI", ReservationOutcome.RESERVED, 1_000_000);
+    this.clock.set(2 * SECOND);
+
+    final var report = tracker.report();
+
+    assertThat(report.windowMillis()).isEqualTo(10_000);
+    assertThat(report.reservations()).isEqualTo(11);
+    assertThat(report.reservationsPerSecond()).isEqualTo(5.5);
+    assertThat(report.skus())
+        .extracting(HotSkuReport.Sku::sku)
+        .containsExactly("BOLA-123-ABC", "BOLA-456-DEF");
+
+    final var hottest = report.skus().getFirst();
+    assertThat(hottest.reservations()).isEqualTo(7);
+    assertThat(hottest.error()).isZero();
+    assertThat(hottest.reservationsPerSecond()).isEqualTo(3.5);
+    assertThat(hottest.reserved()).isEqualTo(6);
+    assertThat(hottest.rejected()).isEqualTo(1);
+    assertThat(hottest.replays()).isEqualTo(1);
+    assertThat(hottest.averageMillis()).isEqualTo(2);
+    assertThat(hottest.averageLockWaitMillis()).isEqualTo(2);
+    assertThat(hottest.maxLockWaitMillis()).isEqualTo(8);
+  }
+
+  @Test
+  void shouldIgnoreEventsWithoutSku() {
+    final var tracker = this.tracker(2, 10);
+
+    tracker.reserved(null, ReservationOutcome.INVALID, 1_000_000);
+    tracker.reserved(" ", ReservationOutcome.INVALID, 1_000_000);
+    tracker.stockUpdated(null, 1_000_000);
+    tracker.replayed(null);
+    this.clock.set(2 * SECOND);
+
+    final var report = tracker.report();
+
+    assertThat(report.reservations()).isZero();
+    assertThat(report.skus()).isEmpty();
+  }
+
+  @Test
+  void shouldKeepHeavyHittersWhenSummaryIsFull() {
+    final var tracker = this.tracker(1, 2);
+
+    for (int i = 0; i < 10; i++) {
+      tracker.reserved("BOLA-123-ABC", ReservationOutcome.RESERVED, 0);
+      tracker.reserved("SKU-" + i, ReservationOutcome.RESERVED, 0);
+    }
+
+    final var hottest = tracker.report().skus().getFirst();
+
+    assertThat(hottest.sku()).isEqualTo("BOLA-123-ABC");
+    assertThat(hottest.reservations()).isGreaterThanOrEqualTo(10);
+    assertThat(hottest.reservations() - hottest.error()).isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  void shouldForgetReservationsOutsideTheWindow() {
+    final var tracker = this.tracker(2, 10);
+
+    tracker.reserved("BOLA-123-ABC", ReservationOutcome.RESERVED, 0);
+    this.clock.set(6 * SECOND);
+    tracker.reserved("BOLA-456-DEF", ReservationOutcome.RESERVED, 0);
+    this.clock.set(11 * SECOND);
+
+    final var report = tracker.report();
+
+    assertThat(report.reservations()).isEqualTo(1);
+    assertThat(report.skus()).extracting(HotSkuReport.Sku::sku).containsExactly("BOLA-456-DEF");
+    assertThat(tracker.estimate("BOLA-123-ABC").reservations()).isZero();
+  }
+
+  @Test
+  void shouldEstimateAnySkuFromSketch() {
+    final var tracker = this.tracker(1, 1);
+
+    for (int i = 0; i < 4; i++) {
+      tracker.reserved("BOLA-123-ABC", ReservationOutcome.RESERVED, 0);
+    }
+    tracker.reserved("BOLA-456-DEF", ReservationOutcome.RESERVED, 0);
+    this.clock.set(8 * SECOND);
+
+    assertThat(tracker.estimate("BOLA-123-ABC").reservations()).isEqualTo(4);
+    assertThat(tracker.estimate("BOLA-123-ABC").reservationsPerSecond()).isEqualTo(0.5);
+    assertThat(tracker.estimate("BOLA-456-DEF").reservations()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldAddUpReservationsRecordedByDifferentThreads() throws InterruptedException {
+    final var tracker = new HotSkuTracker(1, 10, Duration.ofSeconds(10), 5, 4, this.clock::get);
+    final var threads = new Thread[4];
+
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    for (int j = 0; j < 100; j++) {
+                      tracker.reserved("BOLA-123-ABC", ReservationOutcome.RESERVED, 0);
+                    }
+                  });
+    }
+    for (final var thread : threads) {
+      thread.join();
+    }
+
+    assertThat(tracker.report().skus().getFirst().reservations()).isEqualTo(400);
+    assertThat(tracker.estimate("BOLA-123-ABC").reservations()).isEqualTo(400);
+  }
+
+  @Test
+  void shouldRejectSummarySmallerThanTopK() {
+    assertThatThrownBy(() -> new HotSkuTracker(10, 5, Duration.ofSeconds(10), 5))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private HotSkuTracker tracker(final int topK, final int capacity) {
+    return new HotSkuTracker(topK, capacity, Duration.ofSeconds(10), 5, 1, this.clock::get);
+  }
+}
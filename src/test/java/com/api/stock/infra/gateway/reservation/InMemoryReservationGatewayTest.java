@@ -0,0 +1,259 @@
+package com.api.stock.infra.gateway.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.Stock;
+import com.api.stock.core.gateway.EventPublisher;
+import com.api.stock.core.gateway.ReservationMetrics;
+import com.api.stock.core.gateway.StockGateway;
+import com.api.stock.core.gateway.StockReservationGateway;
+import com.api.stock.core.usecase.RecentReservations;
+import com.api.stock.core.usecase.StockService;
+import com.api.stock.event.ReserveStockEvent;
+import com.api.stock.infra.persistence.entity.ReservationFlushEntity;
+import com.api.stock.infra.persistence.repository.ReservationFlushRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class InMemoryReservationGatewayTest {
+
+  private final StockGateway stockGateway = mock(StockGateway.class);
+  private final ReservationFlushRepository reservationFlushRepository =
+      mock(ReservationFlushRepository.class);
+
+  @TempDir private Path journalDirectory;
+
+  @Test
+  void shouldReserveFromMemoryAndFlushNettedDeltas() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    final var gateway = this.gateway();
+
+    assertThat(gateway.reserve("BOLA-123-ABC", 4)).isTrue();
+    assertThat(gateway.reserve("BOLA-123-ABC", 4)).isTrue();
+    assertThat(gateway.reserve("BOLA-123-ABC", 4)).isFalse();
+    assertThat(gateway.release("BOLA-123-ABC", 1)).isTrue();
+
+    verify(this.stockGateway).findByProductSku("BOLA-123-ABC");
+    verify(this.stockGateway, never()).adjustAvailableQuantities(any());
+
+    gateway.flush();
+
+    verify(this.stockGateway).adjustAvailableQuantities(Map.of("BOLA-123-ABC", -7));
+  }
+
+  @Test
+  void shouldNotReserveWhenStockNotFound() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC")).thenReturn(Optional.empty());
+    final var gateway = this.gateway();
+
+    assertThat(gateway.reserve("BOLA-123-ABC", 1)).isFalse();
+    assertThat(gateway.release("BOLA-123-ABC", 1)).isFalse();
+
+    gateway.flush();
+
+    verify(this.stockGateway, never()).adjustAvailableQuantities(any());
+  }
+
+  @Test
+  void shouldKeepDeltasWhenFlushFails() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    doThrow(IllegalStateException.class)
+        .doNothing()
+        .when(this.stockGateway)
+        .adjustAvailableQuantities(any());
+    final var gateway = this.gateway();
+
+    gateway.reserve("BOLA-123-ABC", 2);
+    gateway.flush();
+    gateway.reserve("BOLA-123-ABC", 3);
+    gateway.flush();
+
+    verify(this.stockGateway).adjustAvailableQuantities(Map.of("BOLA-123-ABC", -2));
+    verify(this.stockGateway).adjustAvailableQuantities(Map.of("BOLA-123-ABC", -5));
+  }
+
+  @Test
+  void shouldReloadStockAfterEvictionIsFlushed() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 50)));
+    final var gateway = this.gateway();
+
+    gateway.reserve("BOLA-123-ABC", 10);
+    gateway.evict("BOLA-123-ABC");
+
+    assertThat(gateway.reserve("BOLA-123-ABC", 20)).isFalse();
+
+    gateway.flush();
+
+    assertThat(gateway.reserve("BOLA-123-ABC", 20)).isTrue();
+    verify(this.stockGateway, times(2)).findByProductSku("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldReserveAgainstRefreshedQuantityBeforeTheNextFlush() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    final var gateway = this.gateway();
+
+    assertThat(gateway.reserve("BOLA-123-ABC", 10)).isTrue();
+    assertThat(gateway.reserve("BOLA-123-ABC", 1)).isFalse();
+
+    gateway.refresh("BOLA-123-ABC", 100);
+
+    assertThat(gateway.reserve("BOLA-123-ABC", 90)).isTrue();
+    assertThat(gateway.reserve("BOLA-123-ABC", 1)).isFalse();
+    verify(this.stockGateway).findByProductSku("BOLA-123-ABC");
+  }
+
+  @Test
+  void shouldReplayUnflushedJournalOnStartup() throws Exception {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    final var crashed = this.gateway();
+
+    crashed.reserve("BOLA-123-ABC", 2);
+    crashed.reserve("BOLA-123-ABC", 3);
+    crashed.release("BOLA-123-ABC", 1);
+
+    this.gateway();
+
+    verify(this.stockGateway).adjustAvailableQuantities(Map.of("BOLA-123-ABC", -4));
+    try (var files = Files.list(this.journalDirectory)) {
+      assertThat(files.filter(it -> Files.isRegularFile(it)).allMatch(this::isEmpty)).isTrue();
+    }
+  }
+
+  @Test
+  void shouldRecordFlushIdTogetherWithTheDeltas() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    final var gateway = this.gateway();
+    final ArgumentCaptor<ReservationFlushEntity> flushCaptor =
+        ArgumentCaptor.forClass(ReservationFlushEntity.class);
+
+    gateway.reserve("BOLA-123-ABC", 2);
+    gateway.flush();
+
+    verify(this.stockGateway).adjustAvailableQuantities(Map.of("BOLA-123-ABC", -2));
+    verify(this.reservationFlushRepository).save(flushCaptor.capture());
+    verify(this.reservationFlushRepository)
+        .deleteAllById(List.of(flushCaptor.getValue().getFlushId()));
+  }
+
+  @Test
+  void shouldNotReplaySegmentsOfAnAlreadyCommittedFlush() throws Exception {
+    Files.writeString(
+        this.journalDirectory.resolve("shard-0-1.committed-flush.flushing"), "BOLA-123-ABC\t-2\n");
+    Files.writeString(this.journalDirectory.resolve("shard-1.log"), "BOLA-456-DEF\t-3\n");
+    when(this.reservationFlushRepository.existsById("committed-flush")).thenReturn(true);
+
+    this.gateway();
+
+    verify(this.stockGateway).adjustAvailableQuantities(Map.of("BOLA-456-DEF", -3));
+    verifyNoMoreInteractions(this.stockGateway);
+    verify(this.reservationFlushRepository).deleteAllById(List.of("committed-flush"));
+    try (var files = Files.list(this.journalDirectory)) {
+      assertThat(files.filter(it -> Files.isRegularFile(it)).allMatch(this::isEmpty)).isTrue();
+    }
+  }
+
+  @Test
+  void shouldGiveStockBackWhenTheReservationTransactionRollsBack() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    final var gateway = this.gateway();
+    final var stockReservationGateway = mock(StockReservationGateway.class);
+    final var eventPublisher = mock(EventPublisher.class);
+    final var stockService =
+        new StockService(
+            gateway,
+            stockReservationGateway,
+            new RecentReservations(100),
+            new TransactionTemplate(new NoOpTransactionManager()),
+            eventPublisher,
+            mock(ReservationMetrics.class));
+
+    when(stockReservationGateway.save(any())).thenAnswer(it -> it.getArgument(0));
+    doThrow(IllegalStateException.class).when(eventPublisher).publish(any());
+    doThrow(IllegalStateException.class).when(eventPublisher).publishAll(any());
+
+    assertThatThrownBy(() -> stockService.reserveStock("BOLA-123-ABC", 4, "order-123"))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(
+            () ->
+                stockService.reserveStocks(
+                    List.of(
+                        new ReserveStockEvent("order-456", "BOLA-123-ABC", 3),
+                        new ReserveStockEvent("order-789", "BOLA-123-ABC", 20))))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(gateway.reserve("BOLA-123-ABC", 10)).isTrue();
+  }
+
+  @Test
+  void shouldReserveAllInArrivalOrder() {
+    when(this.stockGateway.findByProductSku("BOLA-123-ABC"))
+        .thenReturn(Optional.of(new Stock(1, "BOLA-123-ABC", 10)));
+    final var gateway = this.gateway();
+
+    assertThat(gateway.reserveAll("BOLA-123-ABC", List.of(4, 7, 0, 6)))
+        .containsExactly(true, false, false, true);
+
+    gateway.flush();
+
+    verify(this.stockGateway).adjustAvailableQuantities(Map.of("BOLA-123-ABC", -10));
+  }
+
+  private InMemoryReservationGateway gateway() {
+    return new InMemoryReservationGateway(
+        this.stockGateway,
+        this.reservationFlushRepository,
+        TransactionOperations.withoutTransaction(),
+        4,
+        this.journalDirectory.toString(),
+        false);
+  }
+
+  private boolean isEmpty(final Path file) {
+    try {
+      return Files.size(file) == 0;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  /** Runs transaction synchronizations without a resource, so rollbacks reach the gateway. */
+  private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(final Object transaction, final TransactionDefinition definition) {}
+
+    @Override
+    protected void doCommit(final DefaultTransactionStatus status) {}
+
+    @Override
+    protected void doRollback(final DefaultTransactionStatus status) {}
+  }
+}
@@ -0,0 +1,85 @@
+package com.api.stock.infra.gateway.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.api.stock.core.domain.ReservationOutcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class MicrometerReservationMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldRecordLatencyByOutcomeAndTrackInFlightReservations() {
+    final var metrics = this.metrics(null);
+
+    metrics.started(3);
+    metrics.finished("BOLA-123-ABC", ReservationOutcome.RESERVED, 2_000_000);
+    metrics.finished("BOLA-123-ABC", ReservationOutcome.INSUFFICIENT_STOCK, 1_000_000);
+
+    assertThat(this.meterRegistry.get("stock.reservation.in.flight").gauge().value()).isEqualTo(1);
+    assertThat(
+            this.meterRegistry.get("stock.reservation").tag("outcome", "reserved").timer().count())
+        .isEqualTo(1);
+    assertThat(
+            this.meterRegistry
+                .get("stock.reservation")
+                .tag("outcome", "insufficient_stock")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(1);
+    assertThat(this.meterRegistry.get("stock.reservation").timers()).hasSize(4);
+    assertThat(this.meterRegistry.getMeters())
+        .allSatisfy(it -> assertThat(it.getId().getTag("productSku")).isNull());
+  }
+
+  @Test
+  void shouldFeedHotSkuTracker() {
+    final var hotSkuTracker = mock(HotSkuTracker.class);
+    final var metrics = this.metrics(hotSkuTracker);
+
+    metrics.started(1);
+    metrics.stockUpdated("BOLA-123-ABC", 500_000);
+    metrics.replayed("BOLA-123-ABC");
+    metrics.finished("BOLA-123-ABC", ReservationOutcome.RESERVED, 2_000_000);
+
+    verify(hotSkuTracker).stockUpdated("BOLA-123-ABC", 500_000);
+    verify(hotSkuTracker).replayed("BOLA-123-ABC");
+    verify(hotSkuTracker).reserved("BOLA-123-ABC", ReservationOutcome.RESERVED, 2_000_000);
+  }
+
+  @Test
+  void shouldNotThrowWhenHotSkuTrackerFails() {
+    final var hotSkuTracker = mock(HotSkuTracker.class);
+    final var metrics = this.metrics(hotSkuTracker);
+    doThrow(NullPointerException.class).when(hotSkuTracker).reserved(any(), any(), anyLong());
+    doThrow(NullPointerException.class).when(hotSkuTracker).stockUpdated(any(), anyLong());
+    doThrow(NullPointerException.class).when(hotSkuTracker).replayed(any());
+
+    metrics.started(1);
+    metrics.stockUpdated(null, 500_000);
+    metrics.replayed(null);
+    metrics.finished(null, ReservationOutcome.INVALID, 2_000_000);
+
+    assertThat(this.meterRegistry.get("stock.reservation.in.flight").gauge().value()).isZero();
+    assertThat(
+            this.meterRegistry.get("stock.reservation").tag("outcome", "invalid").timer().count())
+        .isEqualTo(1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private MicrometerReservationMetrics metrics(final HotSkuTracker hotSkuTracker) {
+    final ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+    final ObjectProvider<HotSkuTracker> tracker = mock(ObjectProvider.class);
+    when(meterRegistry.getIfAvailable(any())).thenReturn(this.meterRegistry);
+    when(tracker.getIfAvailable()).thenReturn(hotSkuTracker);
+
+    return new MicrometerReservationMetrics(meterRegistry, tracker);
+  }
+}
@@ -0,0 +1,65 @@
+package com.api.stock.infra.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.ObjectProvider;
+
+class ConsumerLagRecorderTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ConsumerLagRecorder consumerLagRecorder = this.recorder();
+
+  @Test
+  void shouldRecordLagFromPublishedAtHeaderInMillis() {
+    final var properties = new MessageProperties();
+    properties.setConsumerQueue("reserve-stock");
+    properties.setTimestamp(new Date(System.currentTimeMillis() - 5000));
+    properties.setHeader(ConsumerLagRecorder.PUBLISHED_AT_HEADER, System.currentTimeMillis() - 250);
+
+    this.consumerLagRecorder.postProcessMessage(new Message(new byte[0], properties));
+
+    final var timer =
+        this.meterRegistry.get("rabbitmq.consumer.lag").tag("queue", "reserve-stock").timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isBetween(250.0, 4999.0);
+  }
+
+  @Test
+  void shouldRecordLagOfTimestampedMessagesPerQueue() {
+    final var properties = new MessageProperties();
+    properties.setConsumerQueue("reserve-stock");
+    properties.setTimestamp(new Date(System.currentTimeMillis() - 1500));
+    final var message = new Message(new byte[0], properties);
+
+    assertThat(this.consumerLagRecorder.postProcessMessage(message)).isSameAs(message);
+
+    final var timer =
+        this.meterRegistry.get("rabbitmq.consumer.lag").tag("queue", "reserve-stock").timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(1500);
+  }
+
+  @Test
+  void shouldIgnoreMessagesWithoutTimestamp() {
+    this.consumerLagRecorder.postProcessMessage(new Message(new byte[0], new MessageProperties()));
+
+    assertThat(this.meterRegistry.find("rabbitmq.consumer.lag").timers()).isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  private ConsumerLagRecorder recorder() {
+    final ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+    when(provider.getIfAvailable(any())).thenReturn(this.meterRegistry);
+
+    return new ConsumerLagRecorder(provider);
+  }
+}
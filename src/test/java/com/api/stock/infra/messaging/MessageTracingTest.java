@@ -0,0 +1,149 @@
+package com.api.stock.infra.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class MessageTracingTest {
+
+  private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+  private final io.opentelemetry.api.trace.Tracer otelTracer =
+      SdkTracerProvider.builder()
+          .addSpanProcessor(SimpleSpanProcessor.create(new RecordingExporter(this.spans)))
+          .build()
+          .get("test");
+  private final OtelTracer tracer =
+      new OtelTracer(this.otelTracer, new OtelCurrentTraceContext(), event -> {});
+  private final MessageTracing messageTracing =
+      this.messageTracing(
+          this.tracer,
+          new OtelPropagator(
+              ContextPropagators.create(W3CTraceContextPropagator.getInstance()), this.otelTracer));
+
+  @Test
+  void shouldCaptureCurrentTraceAsHeaders() {
+    final var span = this.tracer.nextSpan().name("reserve-stock receive").start();
+
+    try (var ignored = this.tracer.withSpan(span)) {
+      assertThat(this.messageTracing.capture())
+          .containsEntry(
+              "traceparent",
+              "00-" + span.context().traceId() + "-" + span.context().spanId() + "-01");
+    } finally {
+      span.end();
+    }
+  }
+
+  @Test
+  void shouldCaptureNothingOutsideOfTrace() {
+    assertThat(this.messageTracing.capture()).isEmpty();
+  }
+
+  @Test
+  void shouldContinueCapturedTraceAroundSend() {
+    final var span = this.tracer.nextSpan().name("reserve-stock receive").start();
+    final Map<String, String> context;
+    try (var ignored = this.tracer.withSpan(span)) {
+      context = this.messageTracing.capture();
+    } finally {
+      span.end();
+    }
+    final var sendTraceId = new AtomicReference<String>();
+
+    this.messageTracing.send(
+        context,
+        "outbox relay",
+        1_700_000_000_000L,
+        () -> sendTraceId.set(this.tracer.currentSpan().context().traceId()));
+
+    assertThat(sendTraceId).hasValue(span.context().traceId());
+
+    final var relay = this.spans.getLast();
+    assertThat(relay.getName()).isEqualTo("outbox relay");
+    assertThat(relay.getParentSpanId()).isEqualTo(span.context().spanId());
+    assertThat(relay.getStartEpochNanos())
+        .isEqualTo(TimeUnit.MILLISECONDS.toNanos(1_700_000_000_000L));
+    assertThat(this.tracer.currentSpan()).isNull();
+  }
+
+  @Test
+  void shouldEndSpanWhenSendFails() {
+    final var context =
+        Map.of("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+
+    assertThatThrownBy(
+            () ->
+                this.messageTracing.send(
+                    context,
+                    "outbox relay",
+                    System.currentTimeMillis(),
+                    () -> {
+                      throw new IllegalStateException("channel closed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(this.spans).hasSize(1);
+    assertThat(this.spans.getFirst().getTraceId()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+    assertThat(this.spans.getFirst().getStatus().getDescription()).isEqualTo("channel closed");
+  }
+
+  @Test
+  void shouldSendUntracedWithoutTracer() {
+    final var beans = new StaticListableBeanFactory();
+    final var untraced =
+        new MessageTracing(
+            beans.getBeanProvider(Tracer.class), beans.getBeanProvider(Propagator.class));
+    final var sent = new AtomicReference<Boolean>();
+
+    untraced.send(untraced.capture(), "outbox relay", 0, () -> sent.set(true));
+
+    assertThat(sent).hasValue(true);
+  }
+
+  private MessageTracing messageTracing(final Tracer tracer, final Propagator propagator) {
+    final var beans =
+        new StaticListableBeanFactory(Map.of("tracer", tracer, "propagator", propagator));
+
+    return new MessageTracing(
+        beans.getBeanProvider(Tracer.class), beans.getBeanProvider(Propagator.class));
+  }
+
+  private record RecordingExporter(List<SpanData> spans) implements SpanExporter {
+
+    @Override
+    public CompletableResultCode export(final Collection<SpanData> spans) {
+      this.spans.addAll(spans);
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}
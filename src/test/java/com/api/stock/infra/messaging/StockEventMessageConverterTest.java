@@ -0,0 +1,114 @@
+package com.api.stock.infra.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.stock.event.ReleaseStockEvent;
+import com.api.stock.event.ReserveStockEvent;
+import com.api.stock.event.StockChangedEvent;
+import com.api.stock.event.StockReservedEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+class StockEventMessageConverterTest {
+
+  private final StockEventMessageConverter binaryConverter =
+      new StockEventMessageConverter(new Jackson2JsonMessageConverter(), true);
+  private final StockEventMessageConverter jsonConverter =
+      new StockEventMessageConverter(new Jackson2JsonMessageConverter(), false);
+
+  @Test
+  void shouldRoundTripStockEventsInBinaryFormat() {
+    final var events =
+        new Object[] {
+          new ReserveStockEvent("order-123", "BOLA-123-ABC", 2),
+          new ReleaseStockEvent("order-123", "BOLA-123-ABC", 2),
+          StockReservedEvent.of("order-123", "BOLA-123-ABC", true),
+          new ReserveStockEvent(null, "BOLA-çãé", -1)
+        };
+
+    for (final var event : events) {
+      final var message = this.binaryConverter.toMessage(event, new MessageProperties());
+
+      assertThat(message.getMessageProperties().getContentType())
+          .isEqualTo(StockEventMessageConverter.CONTENT_TYPE);
+      assertThat(this.binaryConverter.fromMessage(message)).isEqualTo(event);
+      assertThat(this.jsonConverter.fromMessage(message)).isEqualTo(event);
+    }
+  }
+
+  @Test
+  void shouldWriteReserveStockEventInFixedLayout() {
+    final var message =
+        this.binaryConverter.toMessage(
+            new ReserveStockEvent("o-1", "SKU", 7), new MessageProperties());
+
+    assertThat(message.getBody())
+        .containsExactly(1, 1, 0, 3, 'o', '-', '1', 0, 3, 'S', 'K', 'U', 0, 0, 0, 7);
+  }
+
+  @Test
+  void shouldKeepJsonWhenBinaryFormatIsDisabled() {
+    final var event = new ReserveStockEvent("order-123", "BOLA-123-ABC", 2);
+
+    final var message = this.jsonConverter.toMessage(event, new MessageProperties());
+
+    assertThat(message.getMessageProperties().getContentType())
+        .isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+    assertThat(this.binaryConverter.fromMessage(message)).isEqualTo(event);
+  }
+
+  @Test
+  void shouldUseJsonForOtherEvents() {
+    final var event = new StockChangedEvent(1, "BOLA-123-ABC", 10, 0L);
+
+    final var message = this.binaryConverter.toMessage(event, new MessageProperties());
+
+    assertThat(message.getMessageProperties().getContentType())
+        .isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+    assertThat(this.binaryConverter.fromMessage(message)).isEqualTo(event);
+  }
+
+  @Test
+  void shouldDecodeJsonFromProducersWithoutTypeHeader() {
+    final var properties = new MessageProperties();
+    properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+    properties.setInferredArgumentType(ReserveStockEvent.class);
+    final var message =
+        new Message(
+            "{\"orderId\":\"order-123\",\"productSku\":\"BOLA-123-ABC\",\"quantity\":2}"
+                .getBytes(StandardCharsets.UTF_8),
+            properties);
+
+    assertThat(this.binaryConverter.fromMessage(message))
+        .isEqualTo(new ReserveStockEvent("order-123", "BOLA-123-ABC", 2));
+  }
+
+  @Test
+  void shouldRejectUnknownOrTruncatedBinaryMessages() {
+    final var message =
+        this.binaryConverter.toMessage(
+            new ReserveStockEvent("order-123", "BOLA-123-ABC", 2), new MessageProperties());
+    final var properties = message.getMessageProperties();
+
+    assertThatThrownBy(
+            () ->
+                this.binaryConverter.fromMessage(
+                    new Message(Arrays.copyOf(message.getBody(), 10), properties)))
+        .isInstanceOf(MessageConversionException.class)
+        .hasMessage("Malformed stock event message.");
+    assertThatThrownBy(
+            () -> this.binaryConverter.fromMessage(new Message(new byte[] {1, 9}, properties)))
+        .isInstanceOf(MessageConversionException.class)
+        .hasMessage("Unknown stock event tag: 9");
+    assertThatThrownBy(
+            () -> this.binaryConverter.fromMessage(new Message(new byte[] {2, 1}, properties)))
+        .isInstanceOf(MessageConversionException.class)
+        .hasMessage("Unsupported stock event version: 2");
+  }
+}
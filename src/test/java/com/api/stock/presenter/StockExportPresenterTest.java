@@ -0,0 +1,36 @@
+package com.api.stock.presenter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.stock.core.domain.Stock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class StockExportPresenterTest {
+
+  private final StockExportPresenter stockExportPresenter =
+      new StockExportPresenter(new StockPresenter(), new ObjectMapper());
+
+  @Test
+  void shouldWriteCsvRowsWithPlainSkusUnquoted() {
+    final var writer = new StringWriter();
+
+    this.stockExportPresenter.write(
+        writer, StockExportFormat.CSV, new Stock(1, "BOLA-123-ABC", 10));
+
+    assertThat(writer).hasToString("1,BOLA-123-ABC,10\n");
+  }
+
+  @Test
+  void shouldQuoteCsvSkusWithDelimitersQuotesOrLineBreaks() {
+    final var writer = new StringWriter();
+
+    this.stockExportPresenter.write(writer, StockExportFormat.CSV, new Stock(1, "BOLA,123", 10));
+    this.stockExportPresenter.write(writer, StockExportFormat.CSV, new Stock(2, "BOLA \"PRO\"", 5));
+    this.stockExportPresenter.write(writer, StockExportFormat.CSV, new Stock(3, "BOLA\n123", 0));
+
+    assertThat(writer)
+        .hasToString("1,\"BOLA,123\",10\n2,\"BOLA \"\"PRO\"\"\",5\n3,\"BOLA\n123\",0\n");
+  }
+}